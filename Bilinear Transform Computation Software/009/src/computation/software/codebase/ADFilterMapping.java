@@ -1,7 +1,5 @@
 package computation.software.codebase;
 
-import java.util.Arrays;
-
 public class ADFilterMapping {
     private final double T; // Sampling period
     private static final double EPSILON = 1e-10;
@@ -16,6 +14,20 @@ public class ADFilterMapping {
     }
 
     public SymbolicTransferFunction designFilter(FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten) {
+        return designZpk(type, order, cutoffFreq, ripple, stopbandAtten).toTransferFunction();
+    }
+
+    /**
+     * Designs the discrete filter in zero-pole-gain form. Analog poles are placed directly and
+     * mapped root by root, so the roots are never expanded and re-factored along the way.
+     */
+    public ZeroPoleGain designZpk(FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten) {
+        ZeroPoleGain analogZpk = designAnalogZpk(type, order, cutoffFreq, ripple, stopbandAtten);
+        BilinearTransform bt = new BilinearTransform(T);
+        return bt.apply(analogZpk);
+    }
+
+    public ZeroPoleGain designAnalogZpk(FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten) {
         if (order < 1) throw new IllegalArgumentException("Filter order must be positive");
         if (cutoffFreq <= 0) throw new IllegalArgumentException("Cutoff frequency must be positive");
         if (type == FilterType.CHEBYSHEV_I || type == FilterType.CHEBYSHEV_II || type == FilterType.ELLIPTIC) {
@@ -25,142 +37,102 @@ public class ADFilterMapping {
             if (stopbandAtten <= 0) throw new IllegalArgumentException("Stopband attenuation must be positive for Chebyshev II/Elliptic");
         }
 
-        double[] num, den;
+        double[][] poles;
+        double dcGain = 1.0;
         switch (type) {
             case BUTTERWORTH:
-                den = butterworthPoles(order, cutoffFreq);
-                num = new double[]{Math.pow(cutoffFreq, order)}; // Unity gain
+                poles = butterworthPoles(order, cutoffFreq);
                 break;
             case CHEBYSHEV_I:
-                den = chebyshevIPoles(order, cutoffFreq, ripple);
-                num = new double[]{chebyshevIGain(order, ripple)};
+                poles = chebyshevIPoles(order, cutoffFreq, ripple);
+                dcGain = chebyshevIGain(order, ripple);
                 break;
             case CHEBYSHEV_II:
-                double[] polesII = chebyshevIIPoles(order, cutoffFreq, stopbandAtten);
-                num = chebyshevIINumerator(order, cutoffFreq, stopbandAtten);
-                den = polesII;
+                poles = chebyshevIIPoles(order, cutoffFreq, stopbandAtten);
                 break;
             case ELLIPTIC:
-                double[] ellipticPoles = ellipticPoles(order, cutoffFreq, ripple, stopbandAtten);
-                num = ellipticNumerator(order, cutoffFreq, ripple, stopbandAtten);
-                den = ellipticPoles;
+                poles = ellipticPoles(order, cutoffFreq, ripple, stopbandAtten);
+                dcGain = order % 2 == 0 ? Math.pow(10, -ripple / 20) : 1.0;
                 break;
             case BESSEL:
-                den = besselPoles(order, cutoffFreq);
-                num = new double[]{Math.pow(cutoffFreq, order)}; // Unity gain
+                poles = besselPoles(order, cutoffFreq);
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported filter type");
         }
 
-        SymbolicTransferFunction analogTf = new SymbolicTransferFunction(num, den, "s");
-        BilinearTransform bt = new BilinearTransform(T);
-        return bt.apply(analogTf);
+        // All-pole prototypes: k = dcGain * Π(-p) fixes H(0)
+        double gr = dcGain, gi = 0;
+        for (int k = 0; k < order; k++) {
+            double r = -(gr * poles[0][k] - gi * poles[1][k]);
+            gi = -(gr * poles[1][k] + gi * poles[0][k]);
+            gr = r;
+        }
+        return new ZeroPoleGain(new double[0], new double[0], poles[0], poles[1], gr, "s");
     }
 
-    private double[] butterworthPoles(int order, double cutoffFreq) {
-        double[] den = new double[order + 1];
-        den[0] = 1.0; // Leading coefficient
+    // Poles -ωc·a·sin(θ_k) + jωc·b·cos(θ_k), θ_k = π(2k-1)/(2n); the middle pole of an odd order is real
+    private double[][] ellipsePoles(int order, double realScale, double imagScale) {
+        double[] real = new double[order];
+        double[] imag = new double[order];
         for (int k = 1; k <= order; k++) {
             double theta = Math.PI * (2 * k - 1) / (2 * order);
-            double poleReal = -cutoffFreq * Math.sin(theta);
-            double poleImag = cutoffFreq * Math.cos(theta);
-            // For simplicity, assume real poles or conjugate pairs combine into real coefficients
-            den[order - k] = (k % 2 == 0) ? (poleReal * poleReal + poleImag * poleImag) : -2 * poleReal;
+            real[k - 1] = -realScale * Math.sin(theta);
+            imag[k - 1] = (2 * k - 1 == order) ? 0.0 : imagScale * Math.cos(theta);
         }
-        return den;
+        return new double[][]{real, imag};
+    }
+
+    private double[][] butterworthPoles(int order, double cutoffFreq) {
+        return ellipsePoles(order, cutoffFreq, cutoffFreq);
     }
 
-    private double[] chebyshevIPoles(int order, double cutoffFreq, double ripple) {
+    private double[][] chebyshevIPoles(int order, double cutoffFreq, double ripple) {
         double epsilon = Math.sqrt(Math.pow(10, ripple / 10) - 1);
         double v = (1.0 / order) * Math.log(1 / epsilon + Math.sqrt(1 / (epsilon * epsilon) + 1));
-        double[] den = new double[order + 1];
-        den[0] = 1.0;
-        for (int k = 1; k <= order; k++) {
-            double theta = Math.PI * (2 * k - 1) / (2 * order);
-            double poleReal = -cutoffFreq * Math.sinh(v) * Math.sin(theta);
-            double poleImag = cutoffFreq * Math.cosh(v) * Math.cos(theta);
-            den[order - k] = (k % 2 == 0) ? (poleReal * poleReal + poleImag * poleImag) : -2 * poleReal;
-        }
-        return den;
+        return ellipsePoles(order, cutoffFreq * Math.sinh(v), cutoffFreq * Math.cosh(v));
     }
 
     private double chebyshevIGain(int order, double ripple) {
         double epsilon = Math.sqrt(Math.pow(10, ripple / 10) - 1);
-        return Math.pow(10, -ripple / 20) / (order % 2 == 0 ? 1 : Math.sqrt(1 + epsilon * epsilon));
+        return order % 2 == 0 ? 1 / Math.sqrt(1 + epsilon * epsilon) : 1.0;
     }
 
-    private double[] chebyshevIIPoles(int order, double cutoffFreq, double stopbandAtten) {
+    private double[][] chebyshevIIPoles(int order, double cutoffFreq, double stopbandAtten) {
         double epsilon = 1 / Math.sqrt(Math.pow(10, stopbandAtten / 10) - 1);
         double v = (1.0 / order) * Math.log(1 / epsilon + Math.sqrt(1 / (epsilon * epsilon) + 1));
-        double[] den = new double[order + 1];
-        den[0] = 1.0;
-        for (int k = 1; k <= order; k++) {
-            double theta = Math.PI * (2 * k - 1) / (2 * order);
-            double poleReal = -cutoffFreq / Math.sinh(v) * Math.sin(theta);
-            double poleImag = cutoffFreq / Math.cosh(v) * Math.cos(theta);
-            den[order - k] = (k % 2 == 0) ? (poleReal * poleReal + poleImag * poleImag) : -2 * poleReal;
-        }
-        return den;
-    }
-
-    private double[] chebyshevIINumerator(int order, double cutoffFreq, double stopbandAtten) {
-        double[] num = new double[order + 1];
-        num[order] = 1.0 / Math.sqrt(Math.pow(10, stopbandAtten / 10));
-        return num;
+        return ellipsePoles(order, cutoffFreq / Math.sinh(v), cutoffFreq / Math.cosh(v));
     }
 
-    private double[] ellipticPoles(int order, double cutoffFreq, double ripple, double stopbandAtten) {
+    private double[][] ellipticPoles(int order, double cutoffFreq, double ripple, double stopbandAtten) {
         // Simplified elliptic filter pole placement (approximation)
         double epsilon = Math.sqrt(Math.pow(10, ripple / 10) - 1);
         double xi = 1 / Math.sqrt(Math.pow(10, stopbandAtten / 10) - 1);
-        double[] den = new double[order + 1];
-        den[0] = 1.0;
-        for (int k = 1; k <= order; k++) {
-            double theta = Math.PI * (2 * k - 1) / (2 * order);
-            double poleReal = -cutoffFreq * epsilon * Math.sin(theta);
-            double poleImag = cutoffFreq * xi * Math.cos(theta);
-            den[order - k] = (k % 2 == 0) ? (poleReal * poleReal + poleImag * poleImag) : -2 * poleReal;
-        }
-        return den;
+        return ellipsePoles(order, cutoffFreq * epsilon, cutoffFreq * xi);
     }
 
-    private double[] ellipticNumerator(int order, double cutoffFreq, double ripple, double stopbandAtten) {
-        double[] num = new double[order + 1];
-        num[order] = Math.pow(10, -ripple / 20);
-        // Add zeros for elliptic filter (simplified)
-        for (int k = 1; k < order; k++) {
-            num[k] = 0.0; // Zeros at infinity or computed via elliptic functions
-        }
-        return num;
-    }
-
-    private double[] besselPoles(int order, double cutoffFreq) {
-        // Simplified Bessel filter (using Bessel polynomial coefficients)
-        double[] den = new double[order + 1];
+    private double[][] besselPoles(int order, double cutoffFreq) {
+        // Reverse Bessel polynomial θ_n(s) = Σ a_k s^k, a_k = (2n-k)! / (2^(n-k) k! (n-k)!), stored in descending powers
+        double[] poly = new double[order + 1];
         for (int k = 0; k <= order; k++) {
-            den[k] = besselCoefficient(order, k);
+            poly[order - k] = besselCoefficient(order, k);
         }
-        // Scale to cutoff frequency
-        for (int i = 0; i < den.length; i++) {
-            den[i] *= Math.pow(cutoffFreq, den.length - 1 - i);
+        double[] real = new double[order];
+        double[] imag = new double[order];
+        ComplexArray roots = PolynomialRootFinder.findRoots(poly);
+        for (int k = 0; k < order; k++) {
+            // Scale to cutoff frequency
+            real[k] = roots.getReal(k) * cutoffFreq;
+            imag[k] = Math.abs(roots.getImag(k)) < EPSILON ? 0.0 : roots.getImag(k) * cutoffFreq;
         }
-        return den;
+        return new double[][]{real, imag};
     }
 
     private double besselCoefficient(int n, int k) {
-        // Compute Bessel polynomial coefficient: (2n-k)! / (2^(n-k) * k! * (n-k)!)
-        long numerator = factorial(2 * n - k);
-        long denominator = (long) Math.pow(2, n - k) * factorial(k) * factorial(n - k);
-        return (double) numerator / denominator;
-    }
-
-    private long factorial(int n) {
-        if (n < 0) return 0;
-        long result = 1;
-        for (int i = 1; i <= n; i++) {
-            result *= i;
-        }
-        return result;
+        // (2n-k)! / (2^(n-k) * k! * (n-k)!), accumulated in floating point to avoid long overflow
+        double result = 1;
+        for (int i = n - k + 1; i <= 2 * n - k; i++) result *= i; // (2n-k)! / (n-k)!
+        for (int i = 2; i <= k; i++) result /= i;
+        return result / Math.pow(2, n - k);
     }
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package computation.software.codebase;
+
+/**
+ * Finds all roots of a real polynomial at once with the Aberth–Ehrlich iteration
+ * z_i -= 1 / (p'(z_i)/p(z_i) - Σ_{j≠i} 1/(z_i - z_j)), started from circles read off the
+ * Newton polygon of the coefficients. There is no deflation and no random restart, so the
+ * result depends only on the input. Roots that are still moving after the iteration budget get
+ * the same budget of Durand–Kerner (Weierstrass) steps.
+ */
+public final class AberthRootFinder {
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+    private static final double START_ANGLE = 0.4; // Keeps start points off the real axis and out of conjugate pairs
+
+    private AberthRootFinder() {
+    }
+
+    public static Result solve(double[] coeffs) {
+        return solve(coeffs, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * @param coeffs Polynomial coefficients in descending powers; the leading one must be nonzero
+     * @param maxIterations Sweep budget for each of the two iterations
+     */
+    public static Result solve(double[] coeffs, int maxIterations) {
+        validate(coeffs, maxIterations);
+        return run(coeffs, null, maxIterations);
+    }
+
+    /**
+     * Refines existing estimates, e.g. the roots of a neighbouring polynomial in a sweep, instead of
+     * starting from the Newton-polygon circles. Root i of the result continues estimate i.
+     * @param guesses One estimate per root (coeffs.length - 1 of them)
+     * @param maxIterations Sweep budget; a few sweeps suffice when the estimates are close
+     */
+    public static Result refine(double[] coeffs, ComplexArray guesses, int maxIterations) {
+        validate(coeffs, maxIterations);
+        if (guesses == null || guesses.length() != coeffs.length - 1) {
+            throw new IllegalArgumentException("Expected " + (coeffs.length - 1) + " root estimates");
+        }
+        return run(coeffs, guesses, maxIterations);
+    }
+
+    private static void validate(double[] coeffs, int maxIterations) {
+        if (coeffs == null || coeffs.length < 2) {
+            throw new IllegalArgumentException("Polynomial must have degree at least 1");
+        }
+        if (coeffs[0] == 0) throw new IllegalArgumentException("Leading coefficient cannot be zero");
+        for (double c : coeffs) {
+            if (Double.isNaN(c) || Double.isInfinite(c)) throw new IllegalArgumentException("Coefficients must be finite");
+        }
+        if (maxIterations < 1) throw new IllegalArgumentException("Iteration budget must be positive");
+    }
+
+    private static Result run(double[] coeffs, ComplexArray guesses, int maxIterations) {
+        int n = coeffs.length - 1;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        double[] bounds = new double[n];
+
+        // Trailing zero coefficients are exact roots at the origin
+        int m = n;
+        while (m > 0 && coeffs[m] == 0) m--;
+        if (m == 0) return new Result(re, im, bounds, true, 0);
+
+        double[] c = new double[m + 1];
+        double[] reversed = new double[m + 1]; // q(w) = w^m p(1/w), used outside the unit disc
+        double[] abs = new double[m + 1];
+        for (int i = 0; i <= m; i++) {
+            c[i] = coeffs[i] / coeffs[0];
+            reversed[m - i] = c[i];
+            abs[i] = Math.abs(c[i]);
+        }
+        // slot[k] is the result index of working root k; the last n - m slots hold the exact zeros
+        int[] slot = new int[n];
+        for (int i = 0; i < n; i++) slot[i] = i;
+        if (guesses == null) {
+            initialGuesses(abs, m, re, im);
+        } else {
+            // The estimates farthest from the origin continue as the nonzero roots
+            for (int i = 1; i < n && m < n; i++) {
+                int s = slot[i];
+                int j = i;
+                for (; j > 0 && guesses.abs(slot[j - 1]) < guesses.abs(s); j--) slot[j] = slot[j - 1];
+                slot[j] = s;
+            }
+            for (int k = 0; k < m; k++) {
+                re[k] = guesses.getReal(slot[k]);
+                im[k] = guesses.getImag(slot[k]);
+            }
+        }
+
+        boolean[] done = new boolean[m];
+        double[] eval = new double[5];
+        int iterations = 0;
+        int remaining = m;
+        for (; iterations < maxIterations && remaining > 0; iterations++) {
+            for (int i = 0; i < m; i++) {
+                if (done[i]) continue;
+                evaluate(c, reversed, abs, re[i], im[i], eval);
+                if (eval[4] <= 0) {
+                    done[i] = true;
+                    remaining--;
+                    continue;
+                }
+                double sr = 0, si = 0; // Σ 1/(z_i - z_j)
+                for (int j = 0; j < m; j++) {
+                    if (j == i) continue;
+                    double dr = re[i] - re[j], di = im[i] - im[j];
+                    double d = dr * dr + di * di;
+                    sr += dr / d;
+                    si -= di / d;
+                }
+                double gr = eval[0] - sr, gi = eval[1] - si;
+                double g = gr * gr + gi * gi;
+                if (g == 0 || Double.isNaN(g) || Double.isInfinite(g)) continue;
+                double deltaRe = gr / g, deltaIm = -gi / g;
+                re[i] -= deltaRe;
+                im[i] -= deltaIm;
+                if (Math.hypot(deltaRe, deltaIm) <= UNIT_ROUNDOFF * Math.hypot(re[i], im[i])) {
+                    done[i] = true;
+                    remaining--;
+                }
+            }
+        }
+
+        // Durand–Kerner fallback for the stragglers: z_i -= p(z_i) / Π_{j≠i}(z_i - z_j)
+        for (int sweep = 0; sweep < maxIterations && remaining > 0; sweep++, iterations++) {
+            for (int i = 0; i < m; i++) {
+                if (done[i]) continue;
+                evaluate(c, reversed, abs, re[i], im[i], eval);
+                if (eval[4] <= 0) {
+                    done[i] = true;
+                    remaining--;
+                    continue;
+                }
+                double pr = eval[2], pi = eval[3];
+                boolean outside = re[i] * re[i] + im[i] * im[i] > 1;
+                for (int j = 0; j < m; j++) {
+                    if (j == i) continue;
+                    double dr = re[i] - re[j], di = im[i] - im[j];
+                    if (outside) {
+                        // p(z) = z^m q(1/z): divide by (1 - z_j/z_i) so the product stays O(1)
+                        double d = re[i] * re[i] + im[i] * im[i];
+                        double tr = (dr * re[i] + di * im[i]) / d;
+                        di = (di * re[i] - dr * im[i]) / d;
+                        dr = tr;
+                    }
+                    double d = dr * dr + di * di;
+                    double qr = (pr * dr + pi * di) / d;
+                    pi = (pi * dr - pr * di) / d;
+                    pr = qr;
+                }
+                if (outside) { // Restore the remaining factor z_i
+                    double tr = pr * re[i] - pi * im[i];
+                    pi = pr * im[i] + pi * re[i];
+                    pr = tr;
+                }
+                if (Double.isNaN(pr) || Double.isNaN(pi) || Double.isInfinite(pr) || Double.isInfinite(pi)) continue;
+                re[i] -= pr;
+                im[i] -= pi;
+                if (Math.hypot(pr, pi) <= UNIT_ROUNDOFF * Math.hypot(re[i], im[i])) {
+                    done[i] = true;
+                    remaining--;
+                }
+            }
+        }
+
+        pairConjugates(re, im, m);
+        for (int i = 0; i < m; i++) {
+            bounds[i] = inclusionRadius(c, reversed, abs, re, im, m, i, eval);
+        }
+        if (guesses != null && m < n) {
+            double[] outRe = new double[n], outIm = new double[n], outBounds = new double[n];
+            for (int k = 0; k < m; k++) {
+                outRe[slot[k]] = re[k];
+                outIm[slot[k]] = im[k];
+                outBounds[slot[k]] = bounds[k];
+            }
+            re = outRe;
+            im = outIm;
+            bounds = outBounds;
+        }
+        return new Result(re, im, bounds, remaining == 0, iterations);
+    }
+
+    // Upper convex hull of (k, log|c_k|), k the power of z: an edge from k1 to k2 carries k2 - k1
+    // roots of modulus about (|c_k1|/|c_k2|)^(1/(k2-k1)), so each edge gets its own start circle
+    private static void initialGuesses(double[] abs, int m, double[] re, double[] im) {
+        int[] hull = new int[m + 1];
+        double[] log = new double[m + 1];
+        int size = 0;
+        for (int k = 0; k <= m; k++) {
+            double a = abs[m - k];
+            if (a == 0) continue;
+            log[k] = Math.log(a);
+            while (size >= 2) {
+                int k1 = hull[size - 2], k2 = hull[size - 1];
+                // Drop k2 when it lies on or below the chord from k1 to k
+                if ((log[k2] - log[k1]) * (k - k1) <= (log[k] - log[k1]) * (k2 - k1)) size--;
+                else break;
+            }
+            hull[size++] = k;
+        }
+        int index = 0;
+        for (int e = 0; e + 1 < size; e++) {
+            int k1 = hull[e], k2 = hull[e + 1];
+            int count = k2 - k1;
+            double radius = Math.exp((log[k1] - log[k2]) / count);
+            for (int t = 0; t < count; t++) {
+                double angle = 2 * Math.PI * t / count + 2 * Math.PI * k1 / m + START_ANGLE;
+                re[index] = radius * Math.cos(angle);
+                im[index] = radius * Math.sin(angle);
+                index++;
+            }
+        }
+    }
+
+    // Fills out with {Re, Im} of p'/p, {Re, Im} of p (of q below when outside), and the
+    // margin |p| - ε·Σ|c_k||z|^k, which is not positive once p(z) is zero to working precision.
+    // Outside the unit disc the reversal q(w) = w^m p(1/w) is used so that z^m cannot overflow.
+    private static void evaluate(double[] c, double[] reversed, double[] abs, double x, double y, double[] out) {
+        int m = c.length - 1;
+        double r2 = x * x + y * y;
+        boolean outside = r2 > 1;
+        double zr = x, zi = y;
+        if (outside) {
+            zr = x / r2;
+            zi = -y / r2;
+        }
+        double radius = Math.sqrt(zr * zr + zi * zi);
+        Complex.hornerWithDerivative(outside ? reversed : c, zr, zi, out, 0);
+        double pr = out[0], pi = out[1], dr = out[2], di = out[3];
+        double s = 0;
+        for (int k = 0; k <= m; k++) s = s * radius + abs[outside ? m - k : k];
+        out[2] = pr;
+        out[3] = pi;
+        double p = Math.hypot(pr, pi);
+        out[4] = p - 4 * (m + 1) * UNIT_ROUNDOFF * s;
+        if (p == 0) {
+            out[0] = out[1] = 0;
+            return;
+        }
+        double p2 = pr * pr + pi * pi;
+        double gr = (dr * pr + di * pi) / p2; // q'/q or p'/p
+        double gi = (di * pr - dr * pi) / p2;
+        if (outside) {
+            // p'/p = w (m - w q'/q)
+            double wr = zr * gr - zi * gi, wi = zr * gi + zi * gr;
+            double ur = m - wr, ui = -wi;
+            gr = zr * ur - zi * ui;
+            gi = zr * ui + zi * ur;
+        }
+        out[0] = gr;
+        out[1] = gi;
+    }
+
+    // For real input the roots come in conjugate pairs: match each estimate with the one closest to
+    // its mirror image and average them, or put it on the real axis when it is its own best match
+    private static void pairConjugates(double[] re, double[] im, int m) {
+        boolean[] paired = new boolean[m];
+        for (int i = 0; i < m; i++) {
+            if (paired[i]) continue;
+            paired[i] = true;
+            int best = -1;
+            double bestDistance = 2 * Math.abs(im[i]);
+            for (int j = i + 1; j < m; j++) {
+                if (paired[j]) continue;
+                double distance = Math.hypot(re[j] - re[i], im[j] + im[i]);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = j;
+                }
+            }
+            if (best < 0) {
+                im[i] = 0;
+                continue;
+            }
+            paired[best] = true;
+            double r = (re[i] + re[best]) / 2;
+            double v = (Math.abs(im[i]) + Math.abs(im[best])) / 2;
+            re[i] = re[best] = r;
+            im[i] = im[i] >= 0 ? v : -v;
+            im[best] = -im[i];
+        }
+    }
+
+    // Radius m·|p(z_i)| / Π_{j≠i}|z_i - z_j| around z_i; the union of these discs holds every root
+    // and each connected group of k discs holds exactly k. Rounding in p(z_i) is added to |p|.
+    private static double inclusionRadius(double[] c, double[] reversed, double[] abs, double[] re, double[] im, int m, int i, double[] eval) {
+        if (m == 1) return 0;
+        evaluate(c, reversed, abs, re[i], im[i], eval);
+        double p = Math.hypot(eval[2], eval[3]);
+        double residual = 2 * p - eval[4]; // |p| + rounding allowance
+        double r = Math.hypot(re[i], im[i]);
+        boolean outside = r > 1;
+        // Logarithms keep the product finite for high orders and tight clusters
+        double log = Math.log(m * residual);
+        if (outside) log += Math.log(r);
+        for (int j = 0; j < m; j++) {
+            if (j == i) continue;
+            double d = Math.hypot(re[i] - re[j], im[i] - im[j]);
+            if (d == 0) return Double.POSITIVE_INFINITY;
+            log -= Math.log(outside ? d / r : d);
+        }
+        return Math.exp(log);
+    }
+
+    /**
+     * Roots as parallel real/imaginary arrays with an inclusion radius for each.
+     */
+    public static final class Result {
+        private final ComplexArray roots;
+        private final double[] errorBounds;
+        private final boolean converged;
+        private final int iterations;
+
+        Result(double[] real, double[] imag, double[] errorBounds, boolean converged, int iterations) {
+            this.roots = ComplexArray.wrap(real, imag);
+            this.errorBounds = errorBounds;
+            this.converged = converged;
+            this.iterations = iterations;
+        }
+
+        public ComplexArray getRoots() {
+            return roots;
+        }
+
+        /**
+         * Radius of a disc around each root estimate; the union of the discs contains every root.
+         */
+        public double[] getErrorBounds() {
+            return errorBounds.clone();
+        }
+
+        /**
+         * False when some root still had not settled after both iteration budgets.
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package computation.software.codebase;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Drives every point-by-point plot animation from one javax.swing.Timer, so all callbacks run on
+ * the EDT and a session holds at most one timer however many windows are open. Each animation
+ * belongs to a component and only advances while that component is showing: it pauses while the
+ * component is hidden (e.g. on an unselected tab) and is dropped once the component's window is
+ * disposed. The timer itself only runs while some animated component is showing.
+ */
+public final class AnimationScheduler {
+    public static final int FRAME_MILLIS = 20;
+
+    /**
+     * One animation, advanced in whole steps of the period it was started with.
+     */
+    public interface Animation {
+        /**
+         * Called on the EDT with the number of steps (at least 1) due since the last call.
+         * @return false once the animation has finished
+         */
+        boolean advance(int steps);
+    }
+
+    private static final Map<JComponent, Entry> entries = new IdentityHashMap<>();
+    private static final Timer timer = new Timer(FRAME_MILLIS, e -> tick());
+    private static long lastTick;
+
+    private AnimationScheduler() {
+    }
+
+    private static final class Entry {
+        final Animation animation;
+        final int stepMillis;
+        final HierarchyListener listener;
+        long elapsed; // Showing time since the start, in ms
+        long stepsDone;
+
+        Entry(Animation animation, int stepMillis, HierarchyListener listener) {
+            this.animation = animation;
+            this.stepMillis = stepMillis;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Starts animating on behalf of owner, replacing any animation it already has. Must be called
+     * on the EDT.
+     * @param stepMillis Time per step while the owner is showing
+     */
+    public static void start(JComponent owner, int stepMillis, Animation animation) {
+        if (owner == null || animation == null) throw new IllegalArgumentException("Owner and animation must not be null");
+        if (stepMillis <= 0) throw new IllegalArgumentException("Step period must be positive");
+        stop(owner);
+        HierarchyListener listener = e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !owner.isDisplayable()) {
+                stop(owner); // Window disposed, or the owner was removed from it
+            } else if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && owner.isShowing()) {
+                wake(); // A paused owner is visible again
+            }
+        };
+        owner.addHierarchyListener(listener);
+        entries.put(owner, new Entry(animation, stepMillis, listener));
+        if (owner.isShowing()) wake();
+    }
+
+    /**
+     * Stops owner's animation, if any, where it is. Must be called on the EDT.
+     */
+    public static void stop(JComponent owner) {
+        Entry entry = entries.remove(owner);
+        if (entry != null) owner.removeHierarchyListener(entry.listener);
+    }
+
+    public static boolean isRunning(JComponent owner) {
+        return entries.containsKey(owner);
+    }
+
+    private static void wake() {
+        if (timer.isRunning()) return;
+        lastTick = System.nanoTime();
+        timer.start();
+    }
+
+    private static void tick() {
+        long now = System.nanoTime();
+        long delta = (now - lastTick) / 1_000_000;
+        lastTick += delta * 1_000_000; // Carry the sub-millisecond remainder
+        boolean anyShowing = false;
+        for (Map.Entry<JComponent, Entry> e : new ArrayList<>(entries.entrySet())) {
+            JComponent owner = e.getKey();
+            Entry entry = e.getValue();
+            if (!owner.isShowing()) continue;
+            anyShowing = true;
+            entry.elapsed += delta;
+            long due = entry.elapsed / entry.stepMillis - entry.stepsDone;
+            if (due <= 0) continue;
+            entry.stepsDone += due;
+            if (!entry.animation.advance((int) Math.min(due, Integer.MAX_VALUE)) && entries.get(owner) == entry) {
+                stop(owner);
+            }
+        }
+        if (!anyShowing) timer.stop();
+    }
+}
\ No newline at end of file
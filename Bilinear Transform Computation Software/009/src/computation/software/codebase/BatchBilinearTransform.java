@@ -0,0 +1,91 @@
+package computation.software.codebase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BatchBilinearTransform {
+    private final double T; // Sampling period
+    private final ForkJoinPool pool;
+    private static final int FILTERS_PER_TASK = 256;
+
+    public BatchBilinearTransform(double T) {
+        this(T, ForkJoinPool.commonPool());
+    }
+
+    public BatchBilinearTransform(double T, ForkJoinPool pool) {
+        if (T <= 0) throw new IllegalArgumentException("Sampling period must be positive");
+        if (pool == null) throw new IllegalArgumentException("Pool must not be null");
+        this.T = T;
+        this.pool = pool;
+    }
+
+    /**
+     * Discretizes many analog prototypes of the same order in one call.
+     * Filter f occupies elements [f*(order+1), (f+1)*(order+1)) of each packed array,
+     * in descending powers of s; lower-degree prototypes are zero-padded on the left.
+     * @param analogNum Packed analog numerators
+     * @param analogDen Packed analog denominators
+     * @param order Common polynomial order of the batch
+     * @return {packed discrete numerators, packed discrete denominators} in descending powers of z
+     */
+    public double[][] apply(double[] analogNum, double[] analogDen, int order) {
+        double[] discreteNum = new double[analogNum.length];
+        double[] discreteDen = new double[analogDen.length];
+        applyInto(analogNum, analogDen, order, discreteNum, discreteDen);
+        return new double[][]{discreteNum, discreteDen};
+    }
+
+    /**
+     * Same as {@link #apply(double[], double[], int)} but writes into caller-provided arrays,
+     * so repeated re-discretization allocates nothing per filter.
+     */
+    public void applyInto(double[] analogNum, double[] analogDen, int order, double[] discreteNum, double[] discreteDen) {
+        if (order < 0) throw new IllegalArgumentException("Order must be non-negative");
+        int stride = order + 1;
+        if (analogNum.length != analogDen.length || analogNum.length % stride != 0) {
+            throw new IllegalArgumentException("Packed arrays must hold a whole number of order-" + order + " filters");
+        }
+        if (discreteNum.length < analogNum.length || discreteDen.length < analogDen.length) {
+            throw new IllegalArgumentException("Output arrays are too small for the batch");
+        }
+        int filterCount = analogNum.length / stride;
+        BilinearExpansionTable table = BilinearExpansionTable.forOrder(order);
+        pool.invoke(new TransformTask(analogNum, analogDen, discreteNum, discreteDen, table, 2 / T, 0, filterCount));
+    }
+
+    private static class TransformTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] analogNum, analogDen, discreteNum, discreteDen;
+        private final BilinearExpansionTable table;
+        private final double scale;
+        private final int from, to;
+
+        TransformTask(double[] analogNum, double[] analogDen, double[] discreteNum, double[] discreteDen,
+                      BilinearExpansionTable table, double scale, int from, int to) {
+            this.analogNum = analogNum;
+            this.analogDen = analogDen;
+            this.discreteNum = discreteNum;
+            this.discreteDen = discreteDen;
+            this.table = table;
+            this.scale = scale;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FILTERS_PER_TASK) {
+                int stride = table.getOrder() + 1;
+                for (int f = from; f < to; f++) {
+                    int offset = f * stride;
+                    table.forward(analogNum, offset, scale, discreteNum, offset);
+                    table.forward(analogDen, offset, scale, discreteDen, offset);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TransformTask(analogNum, analogDen, discreteNum, discreteDen, table, scale, from, mid),
+                    new TransformTask(analogNum, analogDen, discreteNum, discreteDen, table, scale, mid, to));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package computation.software.codebase;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Precomputed expansion of the bilinear substitution for one polynomial order n:
+ * the Pascal row C(n, m) and the basis polynomials (x-1)^i (x+1)^(n-i), i = 0..n.
+ * With these, both s -> z and z -> s mappings reduce to one matrix-vector product.
+ * Tables are shared through a bounded cache that drops the highest orders first.
+ */
+public final class BilinearExpansionTable {
+    private static final long MAX_CACHED_CELLS = 1 << 20; // ~8 MB of basis coefficients
+    private static final ConcurrentSkipListMap<Integer, BilinearExpansionTable> CACHE = new ConcurrentSkipListMap<>();
+    private static long cachedCells = 0;
+
+    private final int order;
+    private final double[] binomialRow; // C(n, m), m = 0..n
+    private final double[] basis; // Column-major: basis[i*(n+1) + j] = coefficient of x^(n-j) in (x-1)^i (x+1)^(n-i)
+
+    private BilinearExpansionTable(int order) {
+        this.order = order;
+        int size = order + 1;
+        binomialRow = new double[size];
+        binomialRow[0] = 1;
+        for (int m = 1; m <= order; m++) {
+            binomialRow[m] = binomialRow[m - 1] * (order - m + 1) / m;
+        }
+
+        // Column 0 is (x+1)^n; each next column multiplies by (x-1)/(x+1). Integer-exact up to order ~50.
+        basis = new double[size * size];
+        System.arraycopy(binomialRow, 0, basis, 0, size);
+        double[] quotient = new double[size];
+        for (int i = 1; i <= order; i++) {
+            int prev = (i - 1) * size;
+            int cur = i * size;
+            // Synthetic division by (x+1)
+            quotient[0] = basis[prev];
+            for (int j = 1; j < order; j++) {
+                quotient[j] = basis[prev + j] - quotient[j - 1];
+            }
+            // Multiplication by (x-1)
+            basis[cur] = quotient[0];
+            for (int j = 1; j < order; j++) {
+                basis[cur + j] = quotient[j] - quotient[j - 1];
+            }
+            basis[cur + order] = -quotient[order - 1];
+        }
+    }
+
+    /**
+     * Returns the shared table for the given order, building and caching it on first use.
+     */
+    public static BilinearExpansionTable forOrder(int order) {
+        if (order < 0) throw new IllegalArgumentException("Order must be non-negative");
+        BilinearExpansionTable table = CACHE.get(order);
+        if (table != null) return table;
+        table = new BilinearExpansionTable(order);
+        long cells = (long) (order + 1) * (order + 1);
+        if (cells > MAX_CACHED_CELLS) return table;
+        synchronized (CACHE) {
+            BilinearExpansionTable existing = CACHE.putIfAbsent(order, table);
+            if (existing != null) return existing;
+            cachedCells += cells;
+            while (cachedCells > MAX_CACHED_CELLS) {
+                int highest = CACHE.lastKey();
+                CACHE.remove(highest);
+                cachedCells -= (long) (highest + 1) * (highest + 1);
+            }
+        }
+        return table;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public double binomial(int m) {
+        return m < 0 || m > order ? 0 : binomialRow[m];
+    }
+
+    /**
+     * s -> z: maps the descending s-power coefficients at src[srcOffset..srcOffset+n] to
+     * descending z-power coefficients at dst[dstOffset..dstOffset+n], using
+     * Σ c_i s^i (z+1)^n = Σ c_i (2/T)^i (z-1)^i (z+1)^(n-i). Allocates nothing.
+     * @param scale 2/T
+     */
+    public void forward(double[] src, int srcOffset, double scale, double[] dst, int dstOffset) {
+        int size = order + 1;
+        for (int j = 0; j <= order; j++) dst[dstOffset + j] = 0;
+        double gain = 1;
+        for (int i = 0; i <= order; i++) {
+            double v = src[srcOffset + order - i] * gain;
+            gain *= scale;
+            if (v == 0) continue;
+            int column = i * size;
+            for (int j = 0; j <= order; j++) {
+                dst[dstOffset + j] += basis[column + j] * v;
+            }
+        }
+    }
+
+    /**
+     * z -> s: maps descending z-power coefficients to descending s-power coefficients
+     * under z = (2 + sT)/(2 - sT). With u = sT/2, Σ d_k z^k (2 - sT)^n is proportional to
+     * Σ d_k (-1)^(n-k) (u+1)^k (u-1)^(n-k); the constant 2^n is dropped. Allocates nothing.
+     * @param scale T/2
+     */
+    public void inverse(double[] src, int srcOffset, double scale, double[] dst, int dstOffset) {
+        int size = order + 1;
+        for (int j = 0; j <= order; j++) dst[dstOffset + j] = 0;
+        for (int i = 0; i <= order; i++) {
+            // d_(n-i) sits at src[srcOffset + i]; it multiplies (u-1)^i (u+1)^(n-i)
+            double v = (i % 2 == 0) ? src[srcOffset + i] : -src[srcOffset + i];
+            if (v == 0) continue;
+            int column = i * size;
+            for (int j = 0; j <= order; j++) {
+                dst[dstOffset + j] += basis[column + j] * v;
+            }
+        }
+        double gain = 1;
+        for (int j = order; j >= 0; j--) {
+            dst[dstOffset + j] *= gain;
+            gain *= scale;
+        }
+    }
+}
\ No newline at end of file
@@ -9,44 +9,74 @@ public class BilinearTransform {
     }
 
     public SymbolicTransferFunction apply(SymbolicTransferFunction analogTf) {
-        // Bilinear transform: s = (2/T) * (z-1)/(z+1)
-        int numDegree = analogTf.getNumerator().length - 1;
-        int denDegree = analogTf.getDenominator().length - 1;
+        // Bilinear transform: s = (2/T) * (z-1)/(z+1), cleared over the common denominator (z+1)^n
+        double[] num = analogTf.getNumerator();
+        double[] den = analogTf.getDenominator();
 
         // Resulting polynomial degrees
-        int maxDegree = Math.max(numDegree, denDegree);
+        int maxDegree = Math.max(num.length, den.length) - 1;
+        double[] paddedNum = new double[maxDegree + 1];
+        double[] paddedDen = new double[maxDegree + 1];
+        System.arraycopy(num, 0, paddedNum, maxDegree + 1 - num.length, num.length);
+        System.arraycopy(den, 0, paddedDen, maxDegree + 1 - den.length, den.length);
+
+        BilinearExpansionTable table = BilinearExpansionTable.forOrder(maxDegree);
         double[] newNum = new double[maxDegree + 1];
         double[] newDen = new double[maxDegree + 1];
-
-        // Compute coefficients for (z+1)^k and (z-1)^k
-        for (int k = 0; k <= maxDegree; k++) {
-            double numCoeff = 0, denCoeff = 0;
-            for (int i = 0; i <= k; i++) {
-                // Numerator contribution
-                if (i <= numDegree) {
-                    numCoeff += analogTf.getNumerator()[numDegree - i] *
-                            binomial(k, i) * Math.pow(2 / T, i) * Math.pow(-1, k - i);
-                }
-                // Denominator contribution
-                if (i <= denDegree) {
-                    denCoeff += analogTf.getDenominator()[denDegree - i] *
-                            binomial(k, i) * Math.pow(2 / T, i) * Math.pow(-1, k - i);
-                }
-            }
-            newNum[maxDegree - k] = numCoeff;
-            newDen[maxDegree - k] = denCoeff;
-        }
+        table.forward(paddedNum, 0, 2 / T, newNum, 0);
+        table.forward(paddedDen, 0, 2 / T, newDen, 0);
 
         return new SymbolicTransferFunction(newNum, newDen, "z");
     }
 
-    private long binomial(int n, int k) {
-        if (k < 0 || k > n) return 0;
-        long result = 1;
-        for (int i = 1; i <= k; i++) {
-            result *= (n - i + 1);
-            result /= i;
+    /**
+     * Maps an analog zero-pole-gain model root by root with z = (2 + sT)/(2 - sT), in O(n).
+     * Each factor (s - a) becomes (2/T - a)(z - z_a)/(z + 1), so surplus poles turn into
+     * zeros at z = -1 and the gain picks up Π(2/T - z_i) / Π(2/T - p_j).
+     * @param analogZpk Analog model H(s)
+     * @return Discrete model H(z)
+     */
+    public ZeroPoleGain apply(ZeroPoleGain analogZpk) {
+        double[] zr = analogZpk.getZerosReal();
+        double[] zi = analogZpk.getZerosImag();
+        double[] pr = analogZpk.getPolesReal();
+        double[] pi = analogZpk.getPolesImag();
+        int excess = pr.length - zr.length;
+        int zeroCount = zr.length + Math.max(excess, 0);
+        int poleCount = pr.length + Math.max(-excess, 0);
+        double[] dzr = new double[zeroCount], dzi = new double[zeroCount];
+        double[] dpr = new double[poleCount], dpi = new double[poleCount];
+
+        double c = 2 / T;
+        // Running complex gain; conjugate pairs make its imaginary part vanish
+        double gr = analogZpk.getGain(), gi = 0;
+        for (int k = 0; k < zr.length; k++) {
+            double[] factor = mapRoot(zr[k], zi[k], c, dzr, dzi, k);
+            double r = gr * factor[0] - gi * factor[1];
+            gi = gr * factor[1] + gi * factor[0];
+            gr = r;
         }
-        return result;
+        for (int k = 0; k < pr.length; k++) {
+            double[] factor = mapRoot(pr[k], pi[k], c, dpr, dpi, k);
+            double mag = factor[0] * factor[0] + factor[1] * factor[1];
+            double r = (gr * factor[0] + gi * factor[1]) / mag;
+            gi = (gi * factor[0] - gr * factor[1]) / mag;
+            gr = r;
+        }
+        for (int k = zr.length; k < zeroCount; k++) dzr[k] = -1;
+        for (int k = pr.length; k < poleCount; k++) dpr[k] = -1;
+
+        return new ZeroPoleGain(dzr, dzi, dpr, dpi, gr, "z");
+    }
+
+    // Stores (c + a)/(c - a) at index k and returns the factor c - a
+    private static double[] mapRoot(double re, double im, double c, double[] outRe, double[] outIm, int k) {
+        double dr = c - re, di = -im;
+        double mag = dr * dr + di * di;
+        if (mag < 1e-20) throw new IllegalArgumentException("Root at s = 2/T maps to z = infinity");
+        double nr = c + re, ni = im;
+        outRe[k] = (nr * dr + ni * di) / mag;
+        outIm[k] = (ni * dr - nr * di) / mag;
+        return new double[]{dr, di};
     }
 }
\ No newline at end of file
@@ -4,8 +4,6 @@ import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.util.Arrays;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class BilinearTransformMain extends JFrame {
     private JTextField numField, denField, samplingPeriodField, criticalFreqField, orderField, cutoffFreqField, rippleField, stopbandAttenField;
@@ -16,6 +14,10 @@ public class BilinearTransformMain extends JFrame {
     private FrequencyResponsePanel freqResponsePanel;
     private JButton feedbackButton, freqResponseButton, timeDomainButton, invBilinearButton;
     private SymbolicTransferFunction discreteTf;
+    private ZeroPoleGain discreteZpk; // Factored form of discreteTf for designed filters; null for manual input
+    private SecondOrderSections discreteSos; // Cascade realization used for simulation and responses
+    private FilterDesignCache.Design currentDesign; // Cached design behind discreteTf; null for manual input
+    private static final FilterDesignCache DESIGN_CACHE = new FilterDesignCache(64);
     private int precision = 2; // Default precision
     private final Font bahnschriftFont = new Font("Bahnschrift", Font.PLAIN, 14);
 
@@ -322,17 +324,14 @@ public class BilinearTransformMain extends JFrame {
 
             String selectedType = (String) filterTypeCombo.getSelectedItem();
             if ("Manual Input".equals(selectedType)) {
-                double[] num = Arrays.stream(numField.getText().split(","))
-                        .map(String::trim).mapToDouble(Double::parseDouble).toArray();
-                double[] den = Arrays.stream(denField.getText().split(","))
-                        .map(String::trim).mapToDouble(Double::parseDouble).toArray();
+                double[] num = CoefficientTextCodec.parseList(numField.getText());
+                double[] den = CoefficientTextCodec.parseList(denField.getText());
                 analogTf = new SymbolicTransferFunction(num, den, "s");
             } else {
                 int order = Integer.parseInt(orderField.getText());
                 double cutoffFreq = Double.parseDouble(cutoffFreqField.getText());
                 double ripple = rippleField.isEnabled() ? Double.parseDouble(rippleField.getText()) : 0.0;
                 double stopbandAtten = stopbandAttenField.isEnabled() ? Double.parseDouble(stopbandAttenField.getText()) : 0.0;
-                ADFilterMapping filterMapper = new ADFilterMapping(T);
                 ADFilterMapping.FilterType filterType;
                 switch (selectedType) {
                     case "Butterworth":
@@ -353,22 +352,32 @@ public class BilinearTransformMain extends JFrame {
                     default:
                         throw new IllegalArgumentException("Invalid filter type");
                 }
-                discreteTf = filterMapper.designFilter(filterType, order, cutoffFreq, ripple, stopbandAtten);
+                currentDesign = DESIGN_CACHE.get(filterType, order, cutoffFreq, ripple, stopbandAtten, T, omega_d);
+                discreteZpk = currentDesign.getZpk();
+                discreteTf = currentDesign.getDiscreteTf();
                 analogTf = new SymbolicTransferFunction(discreteTf.getNumerator(), discreteTf.getDenominator(), "s");
             }
 
-            PreWarpingCapability preWarping = new PreWarpingCapability(T);
-            double omega_a = preWarping.computePreWarpedFrequency(omega_d);
-            SymbolicTransferFunction preWarpedTf = preWarping.applyPreWarping(analogTf, omega_d, omega_a);
-
+            double omega_a;
+            SymbolicTransferFunction preWarpedTf;
+            boolean isStable;
             if ("Manual Input".equals(selectedType)) {
+                PreWarpingCapability preWarping = new PreWarpingCapability(T);
+                omega_a = preWarping.computePreWarpedFrequency(omega_d);
+                preWarpedTf = preWarping.applyPreWarping(analogTf, omega_d, omega_a);
                 BilinearTransform bt = new BilinearTransform(T);
                 discreteTf = bt.apply(preWarpedTf);
+                discreteZpk = null;
+                discreteSos = SecondOrderSections.fromTransferFunction(discreteTf);
+                currentDesign = null;
+                isStable = new StabilityVerification(discreteTf).isStable();
+            } else {
+                omega_a = currentDesign.getPreWarpedFrequency();
+                preWarpedTf = currentDesign.getPreWarpedTf();
+                discreteSos = currentDesign.getSections();
+                isStable = currentDesign.isStable();
             }
 
-            StabilityVerification stability = new StabilityVerification(discreteTf);
-            boolean isStable = stability.isStable();
-
             double[] numCoeffs = discreteTf.getNumerator();
             double[] denCoeffs = discreteTf.getDenominator();
 
@@ -394,8 +403,7 @@ public class BilinearTransformMain extends JFrame {
             output.append("Stability: ").append(isStable ? "Stable" : "Unstable");
             outputArea.setText(output.toString());
 
-            freqResponsePanel.setTransferFunction(discreteTf);
-            freqResponsePanel.startAnimation();
+            freqResponsePanel.setTransferFunction(discreteTf, discreteSos); // Restarts the animation
             freqResponsePanel.repaint();
 
             feedbackButton.setEnabled(true);
@@ -412,8 +420,10 @@ public class BilinearTransformMain extends JFrame {
 
     private void showFeedbackWindow() {
         if (discreteTf != null) {
-            StabilityFeedbackWindow feedbackWindow = new StabilityFeedbackWindow(discreteTf);
-            feedbackWindow.setTransferFunction(discreteTf);
+            // A cached design has exact roots; only manual input needs the polynomial rooted
+            StabilityFeedbackWindow feedbackWindow = currentDesign != null
+                    ? new StabilityFeedbackWindow(discreteTf, currentDesign.getPoles(), currentDesign.getZeros())
+                    : new StabilityFeedbackWindow(discreteTf);
             feedbackWindow.setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this, "No discrete transfer function available!", "Error", JOptionPane.ERROR_MESSAGE);
@@ -422,7 +432,8 @@ public class BilinearTransformMain extends JFrame {
 
     private void showFrequencyResponseWindow() {
         if (discreteTf != null) {
-            FrequencyResponse freqResponseWindow = new FrequencyResponse(discreteTf);
+            FrequencyResponse freqResponseWindow = currentDesign != null
+                    ? new FrequencyResponse(currentDesign) : new FrequencyResponse(discreteTf, discreteSos);
             freqResponseWindow.setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this, "No discrete transfer function available!", "Error", JOptionPane.ERROR_MESSAGE);
@@ -431,7 +442,7 @@ public class BilinearTransformMain extends JFrame {
 
     private void showTimeDomainSimulationWindow() {
         if (discreteTf != null) {
-            TimeDomainSimulation timeDomainWindow = new TimeDomainSimulation(discreteTf, precision);
+            TimeDomainSimulation timeDomainWindow = new TimeDomainSimulation(discreteTf, discreteSos, precision);
             timeDomainWindow.setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this, "No discrete transfer function available!", "Error", JOptionPane.ERROR_MESSAGE);
@@ -440,7 +451,7 @@ public class BilinearTransformMain extends JFrame {
 
     private void showInverseBilinearTransformWindow() {
         if (discreteTf != null) {
-            InvBilinearTransform invBilinearWindow = new InvBilinearTransform(discreteTf, precision, Double.parseDouble(samplingPeriodField.getText()));
+            InvBilinearTransform invBilinearWindow = new InvBilinearTransform(discreteTf, discreteZpk, precision, Double.parseDouble(samplingPeriodField.getText()));
             invBilinearWindow.setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this, "No discrete transfer function available!", "Error", JOptionPane.ERROR_MESSAGE);
@@ -452,72 +463,48 @@ public class BilinearTransformMain extends JFrame {
         private double[] frequencies;
         private double[] magnitude;
         private double[] phase;
+        private double minMag, maxMag;
         private int currentPoint;
-        private Timer animationTimer;
+        private final PlotLayerCache layer = new PlotLayerCache();
         private static final int NUM_POINTS = 100;
         private static final int ANIMATION_DELAY = 50; // ms per point
+        private static final int MARGIN = 60;
+        private static final double MIN_PHASE = -180, MAX_PHASE = 180;
 
         public FrequencyResponsePanel() {
             setBackground(new Color(30, 30, 30));
+            setFont(new Font("Bahnschrift", Font.PLAIN, 12));
             currentPoint = 0;
         }
 
-        public void setTransferFunction(SymbolicTransferFunction tf) {
+        public void setTransferFunction(SymbolicTransferFunction tf, SecondOrderSections sections) {
             this.tf = tf;
             if (tf != null) {
-                frequencies = new double[NUM_POINTS];
+                frequencies = FrequencyResponseEvaluator.uniformGrid(0, Math.PI, NUM_POINTS);
                 magnitude = new double[NUM_POINTS];
                 phase = new double[NUM_POINTS];
-                for (int i = 0; i < NUM_POINTS; i++) {
-                    double omega = Math.PI * i / (NUM_POINTS - 1);
-                    frequencies[i] = omega;
-                    double[] response = computeFrequencyResponse(omega);
-                    magnitude[i] = response[0];
-                    phase[i] = response[1];
-                }
-            }
-            currentPoint = 0;
-            if (animationTimer != null) {
-                animationTimer.cancel();
+                new FrequencyResponseEvaluator(sections).evaluateGrid(0, Math.PI / (NUM_POINTS - 1), NUM_POINTS, magnitude, phase, null);
+                maxMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).max().orElse(0.0) + 10;
+                minMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).min().orElse(-100.0) - 10;
             }
             startAnimation();
         }
 
         private void startAnimation() {
-            animationTimer = new Timer();
-            animationTimer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    if (currentPoint < NUM_POINTS) {
-                        currentPoint++;
-                        repaint();
-                    } else {
-                        animationTimer.cancel();
-                    }
-                }
-            }, 0, ANIMATION_DELAY);
+            currentPoint = 0;
+            repaint();
+            AnimationScheduler.start(this, ANIMATION_DELAY, steps -> {
+                int from = currentPoint;
+                currentPoint = Math.min(NUM_POINTS, currentPoint + steps);
+                // Only the columns holding the new segments
+                int x1 = pointX(Math.max(0, from - 1)) - 2;
+                repaint(x1, 0, pointX(Math.min(currentPoint, NUM_POINTS - 1)) + 2 - x1, getHeight());
+                return currentPoint < NUM_POINTS;
+            });
         }
 
-        private double[] computeFrequencyResponse(double omega) {
-            double[] num = tf.getNumerator();
-            double[] den = tf.getDenominator();
-            double numReal = 0, numImag = 0, denReal = 0, denImag = 0;
-
-            for (int i = 0; i < num.length; i++) {
-                double angle = -i * omega;
-                numReal += num[num.length - 1 - i] * Math.cos(angle);
-                numImag += num[num.length - 1 - i] * Math.sin(angle);
-            }
-            for (int i = 0; i < den.length; i++) {
-                double angle = -i * omega;
-                denReal += den[den.length - 1 - i] * Math.cos(angle);
-                denImag += den[den.length - 1 - i] * Math.sin(angle);
-            }
-
-            double mag = Math.sqrt(numReal * numReal + numImag * numImag) /
-                         Math.sqrt(denReal * denReal + denImag * denImag);
-            double phase = Math.atan2(numImag, numReal) - Math.atan2(denImag, denReal);
-            return new double[]{20 * Math.log10(mag), Math.toDegrees(phase)};
+        private int pointX(int i) {
+            return i * (getWidth() - 2 * MARGIN) / (NUM_POINTS - 1) + MARGIN;
         }
 
         @Override
@@ -525,22 +512,54 @@ public class BilinearTransformMain extends JFrame {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D)g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(new Font("Bahnschrift", Font.PLAIN, 12));
 
             if (tf == null || frequencies == null || magnitude == null || phase == null) {
                 g2.setColor(Color.WHITE);
                 g2.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
                 return;
             }
+            layer.paint(g2, this, Arrays.asList(magnitude, precision), this::paintAxes);
 
-            int width = getWidth();
             int height = getHeight();
-            int margin = 60;
+            int margin = MARGIN;
+            Rectangle clip = g2.getClipBounds();
+            int clipLeft = clip != null ? clip.x - 2 : Integer.MIN_VALUE;
+            int clipRight = clip != null ? clip.x + clip.width + 2 : Integer.MAX_VALUE;
 
-            double maxMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).max().orElse(0.0) + 10;
-            double minMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).min().orElse(-100.0) - 10;
-            double maxPhase = 180;
-            double minPhase = -180;
+            // Plot magnitude up to currentPoint
+            g2.setColor(new Color(0, 120, 215));
+            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
+                int x1 = pointX(i - 1);
+                int x2 = pointX(i);
+                if (x2 < clipLeft || x1 > clipRight) continue;
+                double mag1 = magnitude[i - 1];
+                double mag2 = magnitude[i];
+                if (!Double.isNaN(mag1) && !Double.isInfinite(mag1) && !Double.isNaN(mag2) && !Double.isInfinite(mag2)) {
+                    int magY1 = height - margin - (int) ((mag1 - minMag) * (height - 2 * margin) / (maxMag - minMag));
+                    int magY2 = height - margin - (int) ((mag2 - minMag) * (height - 2 * margin) / (maxMag - minMag));
+                    g2.drawLine(x1, magY1, x2, magY2);
+                }
+            }
+
+            // Plot phase up to currentPoint
+            g2.setColor(new Color(0, 200, 100));
+            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
+                int x1 = pointX(i - 1);
+                int x2 = pointX(i);
+                if (x2 < clipLeft || x1 > clipRight) continue;
+                double phase1 = phase[i - 1];
+                double phase2 = phase[i];
+                if (!Double.isNaN(phase1) && !Double.isInfinite(phase1) && !Double.isNaN(phase2) && !Double.isInfinite(phase2)) {
+                    int phaseY1 = height / 2 - margin - (int) ((phase1 - MIN_PHASE) * (height / 2 - 2 * margin) / (MAX_PHASE - MIN_PHASE));
+                    int phaseY2 = height / 2 - margin - (int) ((phase2 - MIN_PHASE) * (height / 2 - 2 * margin) / (MAX_PHASE - MIN_PHASE));
+                    g2.drawLine(x1, phaseY1, x2, phaseY2);
+                }
+            }
+        }
+
+        // Grid, axes and labels; cached by the layer until the data, precision or size changes
+        private void paintAxes(Graphics2D g2, int width, int height) {
+            int margin = MARGIN;
             double maxFreq = Math.PI;
 
             // Determine label format
@@ -570,7 +589,7 @@ public class BilinearTransformMain extends JFrame {
             for (int i = 0; i <= 5; i++) {
                 double freq = i * maxFreq / 5;
                 double mag = minMag + i * (maxMag - minMag) / 5;
-                double phase = minPhase + i * (maxPhase - minPhase) / 5;
+                double phase = MIN_PHASE + i * (MAX_PHASE - MIN_PHASE) / 5;
                 int xPos = margin + i * (width - 2 * margin) / 5;
                 int magPos = height - margin - i * (height - 2 * margin) / 5;
                 int phasePos = height / 2 - margin - i * (height / 2 - 2 * margin) / 5;
@@ -578,34 +597,6 @@ public class BilinearTransformMain extends JFrame {
                 g2.drawString(String.format(magFormat, mag), margin - 50, magPos + 5);
                 g2.drawString(String.format(phaseFormat, phase), margin - 50, phasePos + 5);
             }
-
-            // Plot magnitude up to currentPoint
-            g2.setColor(new Color(0, 120, 215));
-            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
-                double x1 = (i - 1) * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double x2 = i * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double mag1 = magnitude[i - 1];
-                double mag2 = magnitude[i];
-                if (!Double.isNaN(mag1) && !Double.isInfinite(mag1) && !Double.isNaN(mag2) && !Double.isInfinite(mag2)) {
-                    int magY1 = height - margin - (int) ((mag1 - minMag) * (height - 2 * margin) / (maxMag - minMag));
-                    int magY2 = height - margin - (int) ((mag2 - minMag) * (height - 2 * margin) / (maxMag - minMag));
-                    g2.drawLine((int)x1, magY1, (int)x2, magY2);
-                }
-            }
-
-            // Plot phase up to currentPoint
-            g2.setColor(new Color(0, 200, 100));
-            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
-                double x1 = (i - 1) * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double x2 = i * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double phase1 = phase[i - 1];
-                double phase2 = phase[i];
-                if (!Double.isNaN(phase1) && !Double.isInfinite(phase1) && !Double.isNaN(phase2) && !Double.isInfinite(phase2)) {
-                    int phaseY1 = height / 2 - margin - (int) ((phase1 - minPhase) * (height / 2 - 2 * margin) / (maxPhase - minPhase));
-                    int phaseY2 = height / 2 - margin - (int) ((phase2 - minPhase) * (height / 2 - 2 * margin) / (maxPhase - minPhase));
-                    g2.drawLine((int)x1, (int)phaseY1, (int)x2, phaseY2);
-                }
-            }
         }
     }
 
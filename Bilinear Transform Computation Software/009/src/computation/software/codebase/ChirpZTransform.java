@@ -0,0 +1,106 @@
+package computation.software.codebase;
+
+/**
+ * Chirp-z transform X_k = Σ x_n e^(-jn(ω0 + kΔ)), k = 0..M-1, for a length-N input: the DTFT
+ * sampled at M arbitrary, evenly spaced frequencies. Bluestein's identity
+ * nk = (n² + k² - (k-n)²)/2 turns it into one convolution, done with power-of-two FFTs, so a
+ * zoomed band costs O((N+M) log(N+M)) however narrow it is. The chirps and the kernel spectrum
+ * are computed once per instance.
+ */
+public final class ChirpZTransform {
+    private final int inputLength;
+    private final int outputLength;
+    private final int fftLength;
+    private final double[] preRe, preIm; // e^(-jnω0) e^(-jΔn²/2), n < N
+    private final double[] postRe, postIm; // e^(-jΔk²/2), k < M
+    private final double[] kernelRe, kernelIm; // FFT of e^(+jΔm²/2) laid out circularly
+
+    public ChirpZTransform(int inputLength, int outputLength, double startOmega, double stepOmega) {
+        if (inputLength < 1 || outputLength < 1) throw new IllegalArgumentException("Lengths must be positive");
+        this.inputLength = inputLength;
+        this.outputLength = outputLength;
+        this.fftLength = Integer.highestOneBit(inputLength + outputLength - 1) << 1;
+
+        preRe = new double[inputLength];
+        preIm = new double[inputLength];
+        for (int n = 0; n < inputLength; n++) {
+            double angle = -(n * startOmega + chirpAngle(n, stepOmega));
+            preRe[n] = Math.cos(angle);
+            preIm[n] = Math.sin(angle);
+        }
+        postRe = new double[outputLength];
+        postIm = new double[outputLength];
+        for (int k = 0; k < outputLength; k++) {
+            double angle = -chirpAngle(k, stepOmega);
+            postRe[k] = Math.cos(angle);
+            postIm[k] = Math.sin(angle);
+        }
+        kernelRe = new double[fftLength];
+        kernelIm = new double[fftLength];
+        for (int m = 0; m < Math.max(inputLength, outputLength); m++) {
+            double angle = chirpAngle(m, stepOmega);
+            double c = Math.cos(angle), s = Math.sin(angle);
+            if (m < outputLength) {
+                kernelRe[m] = c;
+                kernelIm[m] = s;
+            }
+            if (m > 0 && m < inputLength) {
+                kernelRe[fftLength - m] = c;
+                kernelIm[fftLength - m] = s;
+            }
+        }
+        Fft.forSize(fftLength).transform(kernelRe, kernelIm);
+    }
+
+    // Δm²/2, with m² formed in long arithmetic so long inputs cannot overflow it
+    private static double chirpAngle(long m, double step) {
+        return step * (m * m) / 2;
+    }
+
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    public int getOutputLength() {
+        return outputLength;
+    }
+
+    // Rough cost, in Horner-step units, of building a transform and running it the given number of
+    // times: one kernel FFT and the chirp tables up front, two FFTs and three pointwise passes per run
+    static long estimatedCost(int inputLength, int outputLength, int runs) {
+        long length = Integer.highestOneBit(inputLength + outputLength - 1) << 1;
+        long fft = length * Long.numberOfTrailingZeros(length);
+        long setup = fft + 8L * (2L * inputLength + 2L * outputLength);
+        return setup + runs * (2 * fft + 3 * length);
+    }
+
+    /**
+     * Transforms inRe/inIm (the first getInputLength() elements; inIm may be null for real input)
+     * into outRe/outIm (the first getOutputLength() elements).
+     */
+    public void transform(double[] inRe, double[] inIm, double[] outRe, double[] outIm) {
+        double[] re = new double[fftLength];
+        double[] im = new double[fftLength];
+        for (int n = 0; n < inputLength; n++) {
+            double xr = inRe[n], xi = inIm == null ? 0 : inIm[n];
+            re[n] = xr * preRe[n] - xi * preIm[n];
+            im[n] = xr * preIm[n] + xi * preRe[n];
+        }
+        Fft fft = Fft.forSize(fftLength);
+        fft.transform(re, im);
+        // Pointwise product with the kernel, conjugated so the forward FFT acts as the inverse
+        for (int i = 0; i < fftLength; i++) {
+            double pr = re[i] * kernelRe[i] - im[i] * kernelIm[i];
+            double pi = re[i] * kernelIm[i] + im[i] * kernelRe[i];
+            re[i] = pr;
+            im[i] = -pi;
+        }
+        fft.transform(re, im);
+        double scale = 1.0 / fftLength;
+        for (int k = 0; k < outputLength; k++) {
+            double gr = re[k] * scale, gi = -im[k] * scale;
+            outRe[k] = gr * postRe[k] - gi * postIm[k];
+            outIm[k] = gr * postIm[k] + gi * postRe[k];
+        }
+    }
+}
\ No newline at end of file
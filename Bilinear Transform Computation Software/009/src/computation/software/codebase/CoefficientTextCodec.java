@@ -0,0 +1,547 @@
+package computation.software.codebase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Text import and export of coefficient lists (CSV rows or JSON arrays of numbers) for bulk data.
+ * Numbers are parsed in place from a CharSequence (a String, CharBuffer or byte buffer view) with
+ * the Clinger fast path and the Eisel–Lemire algorithm, so only unusual inputs go through
+ * Double.parseDouble. They are printed with Grisu2, which always round-trips and gives the shortest
+ * digits for nearly every double. Both directions are exact: parse(format(x)) == x.
+ */
+public final class CoefficientTextCodec {
+    public enum Style {
+        CSV, JSON
+    }
+
+    private static final int MIN_POWER = -348;
+    private static final int MAX_POWER = 347;
+    private static final long[] POW10_HI = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] POW10_LO = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] SMALL_POW10 = new long[19];
+    private static final double[] EXACT_POW10 = new double[23];
+    private static final long HIDDEN_BIT = 1L << 52;
+    private static final long FRACTION_MASK = HIDDEN_BIT - 1;
+
+    static {
+        // 128-bit normalized mantissas of 10^q (those of 5^q), truncated; negative powers rounded up first
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            BigInteger c;
+            if (q >= 0) {
+                c = BigInteger.valueOf(5).pow(q);
+                int shift = 128 - c.bitLength();
+                c = shift >= 0 ? c.shiftLeft(shift) : c.shiftRight(-shift);
+            } else {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength(); // Smallest z with 2^z >= 5^-q
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0) c = c.shiftRight(1);
+            }
+            POW10_HI[q - MIN_POWER] = c.shiftRight(64).longValue();
+            POW10_LO[q - MIN_POWER] = c.longValue();
+        }
+        SMALL_POW10[0] = 1;
+        for (int i = 1; i < SMALL_POW10.length; i++) SMALL_POW10[i] = SMALL_POW10[i - 1] * 10;
+        for (int i = 0; i < EXACT_POW10.length; i++) EXACT_POW10[i] = Double.parseDouble("1e" + i);
+    }
+
+    private CoefficientTextCodec() {
+    }
+
+    /**
+     * Parses the number in chars [from, to), accepting everything Double.parseDouble accepts.
+     * @throws NumberFormatException If the text is not a number
+     */
+    public static double parseDouble(CharSequence text, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long digits = 0; // Unsigned; 19 digits always fit
+        int significant = 0, exponent = 0;
+        boolean anyDigit = false, dropped = false;
+        char c;
+        for (; i < to && (c = text.charAt(i)) >= '0' && c <= '9'; i++) {
+            anyDigit = true;
+            if (significant < 19) {
+                digits = digits * 10 + (c - '0');
+                if (digits != 0) significant++;
+            } else {
+                exponent++;
+                dropped |= c != '0';
+            }
+        }
+        if (i < to && text.charAt(i) == '.') {
+            for (i++; i < to && (c = text.charAt(i)) >= '0' && c <= '9'; i++) {
+                anyDigit = true;
+                if (significant < 19) {
+                    digits = digits * 10 + (c - '0');
+                    if (digits != 0) significant++;
+                    exponent--;
+                } else {
+                    dropped |= c != '0';
+                }
+            }
+        }
+        if (anyDigit && i < to && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int start = i, value = 0;
+            for (; i < to && (c = text.charAt(i)) >= '0' && c <= '9'; i++) {
+                if (value < 100000) value = value * 10 + (c - '0');
+            }
+            if (i == start) anyDigit = false;
+            exponent += negativeExponent ? -value : value;
+        }
+
+        double result = Double.NaN;
+        if (anyDigit && i == to && !dropped) {
+            if (digits == 0) {
+                result = 0;
+            } else if (Long.compareUnsigned(digits, HIDDEN_BIT << 1) < 0 && exponent >= -22 && exponent <= 22) {
+                // Both operands are exact, so the one rounding is the correct one
+                result = exponent >= 0 ? digits * EXACT_POW10[exponent] : digits / EXACT_POW10[-exponent];
+            } else if (exponent >= -342 && exponent <= 308) {
+                result = eiselLemire(digits, exponent);
+            }
+        }
+        if (Double.isNaN(result)) {
+            return Double.parseDouble(text.subSequence(from, to).toString()); // Rare: long, tiny, huge or special values
+        }
+        return negative ? -result : result;
+    }
+
+    public static double parseDouble(CharSequence text) {
+        return parseDouble(text, 0, text.length());
+    }
+
+    // digits * 10^power correctly rounded, or NaN when the 128-bit product cannot decide the rounding
+    private static double eiselLemire(long digits, int power) {
+        int lz = Long.numberOfLeadingZeros(digits);
+        long i = digits << lz;
+        long hi = POW10_HI[power - MIN_POWER];
+        long lower = i * hi;
+        long upper = unsignedMultiplyHigh(i, hi);
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + i, lower) < 0) {
+            long lo = POW10_LO[power - MIN_POWER];
+            long productLow = i * lo;
+            long productMiddle = lower + unsignedMultiplyHigh(i, lo);
+            long productHigh = upper;
+            if (Long.compareUnsigned(productMiddle, lower) < 0) productHigh++;
+            if (productMiddle + 1 == 0 && (productHigh & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + i, productLow) < 0) {
+                return Double.NaN;
+            }
+            upper = productHigh;
+            lower = productMiddle;
+        }
+        long upperBit = upper >>> 63;
+        long mantissa = upper >>> (upperBit + 9);
+        lz += (int) (1 ^ upperBit);
+        if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1) return Double.NaN; // Exactly halfway
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= HIDDEN_BIT << 1) {
+            mantissa = HIDDEN_BIT;
+            lz--;
+        }
+        mantissa &= ~HIDDEN_BIT;
+        long binaryExponent = (((152170L + 65536L) * power) >> 16) + 1024 + 63 - lz;
+        if (binaryExponent < 1 || binaryExponent > 2046) return Double.NaN; // Subnormal or overflow
+        return Double.longBitsToDouble(mantissa | binaryExponent << 52);
+    }
+
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Parses one list of coefficients separated by commas and/or whitespace; JSON brackets are
+     * ignored, so "1, -0.5" and "[1, -0.5]" both work.
+     * @throws NumberFormatException If a value is malformed or a comma has no value before or after it
+     */
+    public static double[] parseList(CharSequence text) {
+        double[] values = new double[8];
+        int count = 0;
+        boolean pendingValue = false; // A value has been read since the last comma
+        boolean danglingComma = false; // A comma has been read since the last value
+        int n = text.length();
+        for (int i = 0; i < n; ) {
+            char c = text.charAt(i);
+            if (c == ',') {
+                if (!pendingValue) throw new NumberFormatException("Empty coefficient in list");
+                pendingValue = false;
+                danglingComma = true;
+                i++;
+            } else if (isSeparator(c)) {
+                i++;
+            } else {
+                int start = i;
+                while (i < n && !isSeparator(text.charAt(i)) && text.charAt(i) != ',') i++;
+                if (count == values.length) values = Arrays.copyOf(values, 2 * count);
+                values[count++] = parseDouble(text, start, i);
+                pendingValue = true;
+                danglingComma = false;
+            }
+        }
+        if (danglingComma) throw new NumberFormatException("Empty coefficient at the end of the list");
+        return Arrays.copyOf(values, count);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ';' || c == '[' || c == ']';
+    }
+
+    /**
+     * Writes the shortest decimal that parses back to value into buffer (at most 25 chars).
+     * @return The position after the last char written
+     */
+    public static int format(double value, char[] buffer, int pos) {
+        if (Double.isNaN(value)) return put(buffer, pos, "NaN");
+        long bits = Double.doubleToRawLongBits(value);
+        if (bits < 0) buffer[pos++] = '-';
+        if (Double.isInfinite(value)) return put(buffer, pos, "Infinity");
+        if (value == 0) return put(buffer, pos, "0.0");
+
+        char[] digits = new char[18];
+        long grisu = grisu2(bits & Long.MAX_VALUE, digits);
+        int length = (int) (grisu >>> 32);
+        int k = (int) grisu; // value = digits * 10^k
+        int kk = length + k; // 10^(kk - 1) <= value < 10^kk
+        if (k >= 0 && kk <= 21) {
+            System.arraycopy(digits, 0, buffer, pos, length);
+            pos += length;
+            for (int j = 0; j < k; j++) buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            buffer[pos++] = '0';
+        } else if (kk > 0 && kk <= 21) {
+            System.arraycopy(digits, 0, buffer, pos, kk);
+            pos += kk;
+            buffer[pos++] = '.';
+            System.arraycopy(digits, kk, buffer, pos, length - kk);
+            pos += length - kk;
+        } else if (kk > -6 && kk <= 0) {
+            buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            for (int j = kk; j < 0; j++) buffer[pos++] = '0';
+            System.arraycopy(digits, 0, buffer, pos, length);
+            pos += length;
+        } else {
+            buffer[pos++] = digits[0];
+            if (length > 1) {
+                buffer[pos++] = '.';
+                System.arraycopy(digits, 1, buffer, pos, length - 1);
+                pos += length - 1;
+            }
+            buffer[pos++] = 'e';
+            int e = kk - 1;
+            if (e < 0) {
+                buffer[pos++] = '-';
+                e = -e;
+            }
+            if (e >= 100) buffer[pos++] = (char) ('0' + e / 100);
+            if (e >= 10) buffer[pos++] = (char) ('0' + e / 10 % 10);
+            buffer[pos++] = (char) ('0' + e % 10);
+        }
+        return pos;
+    }
+
+    public static String toString(double value) {
+        char[] buffer = new char[25];
+        return new String(buffer, 0, format(value, buffer, 0));
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, double value) {
+        char[] buffer = new char[25];
+        return sb.append(buffer, 0, format(value, buffer, 0));
+    }
+
+    private static int put(char[] buffer, int pos, String s) {
+        s.getChars(0, s.length(), buffer, pos);
+        return pos + s.length();
+    }
+
+    // Grisu2 on a positive finite double; returns (digit count << 32) | decimal exponent
+    private static long grisu2(long bits, char[] digits) {
+        long f = bits & FRACTION_MASK;
+        int biased = (int) (bits >>> 52);
+        long vf = biased != 0 ? f | HIDDEN_BIT : f;
+        int ve = biased != 0 ? biased - 1075 : -1074;
+
+        // Boundaries m-, m+ halfway to the neighbouring doubles, on the normalized exponent of m+
+        long plusF = (vf << 1) + 1;
+        int plusE = ve - 1;
+        while ((plusF & (HIDDEN_BIT << 1)) == 0) {
+            plusF <<= 1;
+            plusE--;
+        }
+        plusF <<= 10;
+        plusE -= 10;
+        long minusF = vf == HIDDEN_BIT ? (vf << 2) - 1 : (vf << 1) - 1;
+        int minusE = vf == HIDDEN_BIT ? ve - 2 : ve - 1;
+        minusF <<= minusE - plusE;
+
+        int lz = Long.numberOfLeadingZeros(vf);
+        long wF = vf << lz;
+
+        // Cached power 10^-K that brings the product's exponent into [-60, -32]
+        double dk = (-61 - plusE) * 0.30102999566398114 + 347;
+        int k = (int) dk;
+        if (dk - k > 0) k++;
+        int decimalPower = MIN_POWER + ((k >> 3) + 1) * 8;
+        long cHi = POW10_HI[decimalPower - MIN_POWER];
+        long cF = cHi == -1 ? cHi : cHi + (POW10_LO[decimalPower - MIN_POWER] >>> 63);
+        int cE = (int) (((152170L + 65536L) * decimalPower) >> 16) - 63;
+
+        long w = multiplyRounded(wF, cF);
+        long plus = multiplyRounded(plusF, cF) - 1;
+        long minus = multiplyRounded(minusF, cF) + 1;
+        int e = plusE + cE + 64; // Shared exponent of w, plus and minus
+        return digitGen(w, plus, e, plus - minus, -decimalPower, digits);
+    }
+
+    private static long multiplyRounded(long a, long b) {
+        return unsignedMultiplyHigh(a, b) + ((a * b) >>> 63);
+    }
+
+    private static long digitGen(long w, long plus, int e, long delta, int k, char[] digits) {
+        int shift = -e;
+        long one = 1L << shift;
+        long plusMinusW = plus - w;
+        long p1 = plus >>> shift;
+        long p2 = plus & (one - 1);
+        int kappa = 1;
+        while (kappa < 10 && p1 >= SMALL_POW10[kappa]) kappa++;
+        int length = 0;
+        while (kappa > 0) {
+            long power = SMALL_POW10[kappa - 1];
+            long d = p1 / power;
+            p1 %= power;
+            if (d != 0 || length != 0) digits[length++] = (char) ('0' + d);
+            kappa--;
+            long rest = (p1 << shift) + p2;
+            if (Long.compareUnsigned(rest, delta) <= 0) {
+                round(digits, length, delta, rest, SMALL_POW10[kappa] << shift, plusMinusW);
+                return (long) length << 32 | ((k + kappa) & 0xFFFFFFFFL);
+            }
+        }
+        while (true) {
+            p2 *= 10;
+            delta *= 10;
+            long d = p2 >>> shift;
+            if (d != 0 || length != 0) digits[length++] = (char) ('0' + d);
+            p2 &= one - 1;
+            kappa--;
+            if (Long.compareUnsigned(p2, delta) < 0) {
+                round(digits, length, delta, p2, one, plusMinusW * SMALL_POW10[-kappa]);
+                return (long) length << 32 | ((k + kappa) & 0xFFFFFFFFL);
+            }
+        }
+    }
+
+    // Moves the last digit down while that brings the result closer to w and stays inside the boundaries
+    private static void round(char[] digits, int length, long delta, long rest, long tenKappa, long plusMinusW) {
+        while (Long.compareUnsigned(rest, plusMinusW) < 0 && Long.compareUnsigned(delta - rest, tenKappa) >= 0
+                && (Long.compareUnsigned(rest + tenKappa, plusMinusW) < 0
+                || Long.compareUnsigned(plusMinusW - rest, rest + tenKappa - plusMinusW) > 0)) {
+            digits[length - 1]--;
+            rest += tenKappa;
+        }
+    }
+
+    /**
+     * Reads coefficient rows from a byte stream of ASCII text: one row per line for CSV, one per
+     * inner array for JSON (e.g. [[1, 0.5], [1, -0.9]], which may be spread over lines). Values are parsed straight out of the read
+     * buffer. Closing the stream is left to the caller.
+     */
+    public static final class RowReader {
+        private final InputStream in;
+        private byte[] buffer = new byte[1 << 16];
+        private int position, limit;
+        private boolean eof;
+        private final AsciiView view = new AsciiView();
+        private double[] row = new double[16];
+        // Whether the text is JSON is decided by its first non-blank byte; depth counts open brackets
+        private boolean started, json;
+        private int depth;
+
+        public RowReader(InputStream in) {
+            if (in == null) throw new IllegalArgumentException("Input stream must not be null");
+            this.in = in;
+        }
+
+        /**
+         * @return The next non-empty row, or null at the end of the stream
+         * @throws NumberFormatException If a value is malformed, a comma has no value on either side
+         * or the JSON brackets do not match
+         */
+        public double[] nextRow() throws IOException {
+            int count = 0;
+            boolean pendingValue = false; // A value was read since the last comma
+            boolean awaitingValue = false; // A comma was read since the last value
+            while (true) {
+                if (position == limit && !fill(position)) break;
+                byte c = buffer[position];
+                if (!started && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                    started = true;
+                    json = c == '[';
+                }
+                if (c == '[') {
+                    if (!json || ++depth > 2) throw new NumberFormatException("Unexpected '[' in coefficient rows");
+                    position++;
+                } else if (c == ']' || (c == '\n' && !json)) {
+                    if (c == ']') {
+                        if (!json || depth == 0) throw new NumberFormatException("Unmatched ']' in coefficient rows");
+                        depth--;
+                    }
+                    position++;
+                    if (awaitingValue) throw new NumberFormatException("Empty coefficient in row");
+                    pendingValue = false;
+                    if (count > 0) return Arrays.copyOf(row, count);
+                } else if (c == ',') {
+                    position++;
+                    if (json && depth < 2) continue; // Separator between JSON rows
+                    if (!pendingValue) throw new NumberFormatException("Empty coefficient in row");
+                    pendingValue = false;
+                    awaitingValue = true;
+                } else if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ';') {
+                    position++;
+                } else {
+                    if (json && depth != 2) throw new NumberFormatException("Coefficient outside a JSON row");
+                    int start = position;
+                    int end = start;
+                    while (true) {
+                        while (end < limit && !isDelimiter(buffer[end])) end++;
+                        if (end < limit || eof) break;
+                        // The value runs past the buffer: keep it and read more
+                        int kept = end - start;
+                        boolean more = fill(start);
+                        start = 0;
+                        end = kept;
+                        if (!more) break;
+                    }
+                    if (count == row.length) row = Arrays.copyOf(row, 2 * count);
+                    row[count++] = parseDouble(view.of(buffer), start, end);
+                    position = end;
+                    pendingValue = true;
+                    awaitingValue = false;
+                }
+            }
+            if (json && depth != 0) throw new NumberFormatException("Unclosed '[' in coefficient rows");
+            if (awaitingValue) throw new NumberFormatException("Empty coefficient in row");
+            return count > 0 ? Arrays.copyOf(row, count) : null;
+        }
+
+        private static boolean isDelimiter(byte c) {
+            return c == ',' || c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ';' || c == '[' || c == ']';
+        }
+
+        // Moves [keepFrom, limit) to the front, growing the buffer if it is full, then reads more
+        private boolean fill(int keepFrom) throws IOException {
+            if (eof) return false;
+            int kept = limit - keepFrom;
+            if (kept == buffer.length) buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+            else System.arraycopy(buffer, keepFrom, buffer, 0, kept);
+            position -= keepFrom;
+            limit = kept;
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        }
+    }
+
+    // CharSequence over ASCII bytes, so the parser can read the stream buffer without decoding it
+    private static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+
+        AsciiView of(byte[] bytes) {
+            this.bytes = bytes;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, start, end - start, java.nio.charset.StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Writes coefficient rows as CSV lines or as one JSON array of arrays, formatting into a byte
+     * buffer. {@link #close()} finishes the JSON array and flushes but does not close the stream.
+     */
+    public static final class RowWriter implements AutoCloseable {
+        private final OutputStream out;
+        private final Style style;
+        private final byte[] buffer = new byte[1 << 16];
+        private final char[] number = new char[25];
+        private int position;
+        private boolean firstRow = true;
+
+        public RowWriter(OutputStream out, Style style) {
+            if (out == null || style == null) throw new IllegalArgumentException("Stream and style must not be null");
+            this.out = out;
+            this.style = style;
+        }
+
+        public void writeRow(double[] values) throws IOException {
+            writeRow(values, 0, values.length);
+        }
+
+        public void writeRow(double[] values, int from, int to) throws IOException {
+            if (style == Style.JSON) {
+                put(firstRow ? "[\n  [" : ",\n  [");
+            }
+            firstRow = false;
+            for (int i = from; i < to; i++) {
+                if (i > from) put(style == Style.JSON ? ", " : ",");
+                if (buffer.length - position < number.length) flush();
+                int end = format(values[i], number, 0);
+                for (int j = 0; j < end; j++) buffer[position++] = (byte) number[j];
+            }
+            put(style == Style.JSON ? "]" : "\n");
+        }
+
+        private void put(String s) throws IOException {
+            if (buffer.length - position < s.length()) flush();
+            for (int j = 0; j < s.length(); j++) buffer[position++] = (byte) s.charAt(j);
+        }
+
+        public void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (style == Style.JSON) put(firstRow ? "[]\n" : "\n]\n");
+            flush();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package computation.software.codebase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Checks CoefficientTextCodec against the JDK and times it against the String-based code it
+ * replaced. Run with an optional value count (default 3,000,000); exits with an error on the first
+ * kind of mismatch found.
+ */
+final class CoefficientTextCodecBenchmark {
+    private static final int VALUES_PER_ROW = 10;
+
+    private CoefficientTextCodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 3_000_000;
+        Random random = new Random(20);
+
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) values[i] = randomDouble(random);
+        int formatMismatches = 0;
+        for (double v : values) {
+            String text = CoefficientTextCodec.toString(v);
+            if (Double.doubleToLongBits(Double.parseDouble(text)) != Double.doubleToLongBits(v)) formatMismatches++;
+        }
+        report("format/Double.parseDouble round trip", count, formatMismatches);
+
+        int parseMismatches = 0;
+        for (int i = 0; i < count; i++) {
+            String text = randomDecimal(random);
+            double expected = Double.parseDouble(text);
+            if (Double.doubleToLongBits(CoefficientTextCodec.parseDouble(text)) != Double.doubleToLongBits(expected)) {
+                parseMismatches++;
+            }
+        }
+        report("parseDouble against Double.parseDouble", count, parseMismatches);
+
+        int streamMismatches = 0;
+        for (CoefficientTextCodec.Style style : CoefficientTextCodec.Style.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (CoefficientTextCodec.RowWriter writer = new CoefficientTextCodec.RowWriter(bytes, style)) {
+                for (int from = 0; from < count; from += VALUES_PER_ROW) {
+                    writer.writeRow(values, from, Math.min(count, from + VALUES_PER_ROW));
+                }
+            }
+            CoefficientTextCodec.RowReader reader = new CoefficientTextCodec.RowReader(new ByteArrayInputStream(bytes.toByteArray()));
+            int index = 0;
+            double[] row;
+            while ((row = reader.nextRow()) != null) {
+                for (double v : row) {
+                    if (index >= count || Double.doubleToLongBits(v) != Double.doubleToLongBits(values[index])) streamMismatches++;
+                    index++;
+                }
+            }
+            if (index != count) streamMismatches++;
+        }
+        report("RowWriter/RowReader round trip", count, streamMismatches);
+
+        int timed = Math.min(count, 2_000_000);
+        for (int run = 0; run < 2; run++) {
+            System.out.printf("Run %d on %d values, %d per row%n", run + 1, timed, VALUES_PER_ROW);
+            long start = System.nanoTime();
+            String[] jdkLines = new String[timed / VALUES_PER_ROW];
+            for (int r = 0; r < jdkLines.length; r++) {
+                StringBuilder sb = new StringBuilder();
+                for (int j = 0; j < VALUES_PER_ROW; j++) {
+                    if (j > 0) sb.append(", ");
+                    sb.append(String.format("%.17g", values[r * VALUES_PER_ROW + j]));
+                }
+                jdkLines[r] = sb.toString();
+            }
+            long jdkFormat = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            String[] lines = new String[timed / VALUES_PER_ROW];
+            for (int r = 0; r < lines.length; r++) {
+                StringBuilder sb = new StringBuilder();
+                for (int j = 0; j < VALUES_PER_ROW; j++) {
+                    if (j > 0) sb.append(", ");
+                    CoefficientTextCodec.appendTo(sb, values[r * VALUES_PER_ROW + j]);
+                }
+                lines[r] = sb.toString();
+            }
+            long codecFormat = System.nanoTime() - start;
+
+            long checksum = 0;
+            start = System.nanoTime();
+            for (String line : lines) {
+                for (String part : line.split(",")) checksum ^= Double.doubleToLongBits(Double.parseDouble(part.trim()));
+            }
+            long jdkParse = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (String line : lines) {
+                for (double v : CoefficientTextCodec.parseList(line)) checksum ^= Double.doubleToLongBits(v);
+            }
+            long codecParse = System.nanoTime() - start;
+
+            System.out.printf("  String.format(\"%%.17g\") %.2f s, appendTo %.2f s%n", jdkFormat / 1e9, codecFormat / 1e9);
+            System.out.printf("  split/trim/parseDouble %.2f s, parseList %.2f s (checksum %s)%n",
+                    jdkParse / 1e9, codecParse / 1e9, checksum == 0 ? "ok" : "differs");
+        }
+    }
+
+    // Uniform over bit patterns, so every exponent and subnormals are covered
+    private static double randomDouble(Random random) {
+        while (true) {
+            double v = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(v) && !Double.isInfinite(v)) return v;
+        }
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextBoolean()) sb.append('-');
+        int digits = 1 + random.nextInt(random.nextInt(4) == 0 ? 40 : 19);
+        int point = random.nextInt(digits + 1);
+        for (int i = 0; i < digits; i++) {
+            if (i == point && i > 0) sb.append('.');
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        if (random.nextBoolean()) sb.append('e').append(random.nextInt(640) - 340);
+        return sb.toString();
+    }
+
+    private static void report(String check, int count, int mismatches) {
+        System.out.printf("%s: %d values, %d mismatches%n", check, count, mismatches);
+        if (mismatches > 0) throw new IllegalStateException(check + " failed");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package computation.software.codebase;
+
+import java.util.Arrays;
+
+/**
+ * Finds polynomial roots as the eigenvalues of the companion matrix. The matrix is already upper
+ * Hessenberg, so it is balanced and then reduced with the implicit double-shift (Francis) QR
+ * iteration. Everything runs on flat double[] storage that is kept between calls, so rooting many
+ * polynomials of the same degree allocates nothing after the first; an instance is therefore not
+ * thread-safe. Complex roots come out in exact conjugate pairs.
+ */
+public class CompanionRootFinder {
+    private static final double EPSILON = Math.ulp(1.0);
+    private static final double RADIX = 2;
+    private static final int MAX_ITERATIONS = 30; // QR sweeps per eigenvalue
+
+    private double[] matrix = new double[0]; // Row-major n x n
+
+    /**
+     * @param coeffs Polynomial coefficients in descending powers; the leading one must be nonzero
+     * @param real Receives the real parts, at least coeffs.length - 1 long
+     * @param imag Receives the imaginary parts, at least coeffs.length - 1 long
+     * @return The number of roots written (the degree)
+     */
+    public int findRoots(double[] coeffs, double[] real, double[] imag) {
+        if (coeffs == null || coeffs.length < 2) {
+            throw new IllegalArgumentException("Polynomial must have degree at least 1");
+        }
+        int degree = coeffs.length - 1;
+        findRoots(coeffs, 0, degree, real, imag, 0);
+        return degree;
+    }
+
+    /**
+     * Roots count polynomials of one degree in a single pass over shared workspace.
+     * @param coeffs count consecutive blocks of degree + 1 descending coefficients
+     * @param real Receives count consecutive blocks of degree real parts
+     * @param imag Receives count consecutive blocks of degree imaginary parts
+     */
+    public void findRootsBatch(double[] coeffs, int degree, int count, double[] real, double[] imag) {
+        if (degree < 1) throw new IllegalArgumentException("Polynomial must have degree at least 1");
+        if (count < 0 || coeffs.length < (long) count * (degree + 1)) {
+            throw new IllegalArgumentException("Coefficient array holds fewer than " + count + " polynomials");
+        }
+        for (int k = 0; k < count; k++) {
+            findRoots(coeffs, k * (degree + 1), degree, real, imag, k * degree);
+        }
+    }
+
+    private void findRoots(double[] coeffs, int offset, int n, double[] real, double[] imag, int outOffset) {
+        if (real.length < outOffset + n || imag.length < outOffset + n) {
+            throw new IllegalArgumentException("Root arrays are too short for " + n + " roots");
+        }
+        double lead = coeffs[offset];
+        if (lead == 0) throw new IllegalArgumentException("Leading coefficient cannot be zero");
+        for (int i = 0; i <= n; i++) {
+            double c = coeffs[offset + i];
+            if (Double.isNaN(c) || Double.isInfinite(c)) throw new IllegalArgumentException("Coefficients must be finite");
+        }
+        if (n == 1) {
+            real[outOffset] = -coeffs[offset + 1] / lead;
+            imag[outOffset] = 0;
+            return;
+        }
+
+        if (matrix.length < n * n) matrix = new double[n * n];
+        double[] a = matrix;
+        Arrays.fill(a, 0, n * n, 0);
+        // First row -c_k/c_0, ones on the subdiagonal
+        for (int j = 0; j < n; j++) a[j] = -coeffs[offset + j + 1] / lead;
+        for (int i = 1; i < n; i++) a[i * n + i - 1] = 1;
+
+        balance(a, n);
+        hessenbergEigenvalues(a, n, real, imag, outOffset);
+    }
+
+    // Diagonal similarity by powers of two that evens out row and column norms (Parlett-Reinsch).
+    // Companion matrices of scaled coefficients are badly unbalanced, and QR error grows with the norm.
+    private static void balance(double[] a, int n) {
+        double radixSquared = RADIX * RADIX;
+        boolean done = false;
+        while (!done) {
+            done = true;
+            for (int i = 0; i < n; i++) {
+                double r = 0, c = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j == i) continue;
+                    c += Math.abs(a[j * n + i]);
+                    r += Math.abs(a[i * n + j]);
+                }
+                if (c == 0 || r == 0) continue;
+                double g = r / RADIX;
+                double f = 1;
+                double s = c + r;
+                while (c < g) {
+                    f *= RADIX;
+                    c *= radixSquared;
+                }
+                g = r * RADIX;
+                while (c > g) {
+                    f /= RADIX;
+                    c /= radixSquared;
+                }
+                if ((c + r) / f < 0.95 * s) {
+                    done = false;
+                    g = 1 / f;
+                    for (int j = 0; j < n; j++) a[i * n + j] *= g;
+                    for (int j = 0; j < n; j++) a[j * n + i] *= f;
+                }
+            }
+        }
+    }
+
+    // Eigenvalues of an upper Hessenberg matrix by the implicit double-shift QR iteration,
+    // deflating 1x1 and 2x2 blocks off the bottom as subdiagonal entries become negligible.
+    // a is destroyed.
+    private static void hessenbergEigenvalues(double[] a, int n, double[] wr, double[] wi, int out) {
+        double norm = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(i - 1, 0); j < n; j++) norm += Math.abs(a[i * n + j]);
+        }
+        int nn = n - 1;
+        double t = 0; // Accumulated exceptional shifts
+        double p = 0, q = 0, r = 0, s, w, x, y, z;
+        while (nn >= 0) {
+            int its = 0;
+            int l;
+            do {
+                // Look for a negligible subdiagonal element to split the matrix at
+                for (l = nn; l > 0; l--) {
+                    s = Math.abs(a[(l - 1) * n + l - 1]) + Math.abs(a[l * n + l]);
+                    if (s == 0) s = norm;
+                    if (Math.abs(a[l * n + l - 1]) <= EPSILON * s) {
+                        a[l * n + l - 1] = 0;
+                        break;
+                    }
+                }
+                x = a[nn * n + nn];
+                if (l == nn) { // One root found
+                    wr[out + nn] = x + t;
+                    wi[out + nn] = 0;
+                    nn--;
+                } else {
+                    y = a[(nn - 1) * n + nn - 1];
+                    w = a[nn * n + nn - 1] * a[(nn - 1) * n + nn];
+                    if (l == nn - 1) { // Two roots from the trailing 2x2 block
+                        p = 0.5 * (y - x);
+                        q = p * p + w;
+                        z = Math.sqrt(Math.abs(q));
+                        x += t;
+                        if (q >= 0) {
+                            z = p + Math.copySign(z, p);
+                            wr[out + nn - 1] = wr[out + nn] = x + z;
+                            if (z != 0) wr[out + nn] = x - w / z;
+                            wi[out + nn - 1] = wi[out + nn] = 0;
+                        } else {
+                            wr[out + nn - 1] = wr[out + nn] = x + p;
+                            wi[out + nn - 1] = -z;
+                            wi[out + nn] = z;
+                        }
+                        nn -= 2;
+                    } else {
+                        if (its == MAX_ITERATIONS) throw new ArithmeticException("QR iteration did not converge");
+                        if (its == 10 || its == 20) { // Exceptional shift to break a cycle
+                            t += x;
+                            for (int i = 0; i <= nn; i++) a[i * n + i] -= x;
+                            s = Math.abs(a[nn * n + nn - 1]) + Math.abs(a[(nn - 1) * n + nn - 2]);
+                            y = x = 0.75 * s;
+                            w = -0.4375 * s * s;
+                        }
+                        its++;
+                        // Find two consecutive small subdiagonal elements to start the bulge at
+                        int m;
+                        for (m = nn - 2; m >= l; m--) {
+                            z = a[m * n + m];
+                            r = x - z;
+                            s = y - z;
+                            p = (r * s - w) / a[(m + 1) * n + m] + a[m * n + m + 1];
+                            q = a[(m + 1) * n + m + 1] - z - r - s;
+                            r = a[(m + 2) * n + m + 1];
+                            s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                            p /= s;
+                            q /= s;
+                            r /= s;
+                            if (m == l) break;
+                            double u = Math.abs(a[m * n + m - 1]) * (Math.abs(q) + Math.abs(r));
+                            double v = Math.abs(p) * (Math.abs(a[(m - 1) * n + m - 1]) + Math.abs(z) + Math.abs(a[(m + 1) * n + m + 1]));
+                            if (u <= EPSILON * v) break;
+                        }
+                        for (int i = m; i < nn - 1; i++) {
+                            a[(i + 2) * n + i] = 0;
+                            if (i != m) a[(i + 2) * n + i - 1] = 0;
+                        }
+                        // Chase the bulge down with 3x3 Householder reflections
+                        for (int k = m; k < nn; k++) {
+                            if (k != m) {
+                                p = a[k * n + k - 1];
+                                q = a[(k + 1) * n + k - 1];
+                                r = k + 1 != nn ? a[(k + 2) * n + k - 1] : 0;
+                                x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                                if (x != 0) {
+                                    p /= x;
+                                    q /= x;
+                                    r /= x;
+                                }
+                            }
+                            s = Math.copySign(Math.sqrt(p * p + q * q + r * r), p);
+                            if (s == 0) continue;
+                            if (k == m) {
+                                if (l != m) a[k * n + k - 1] = -a[k * n + k - 1];
+                            } else {
+                                a[k * n + k - 1] = -s * x;
+                            }
+                            p += s;
+                            x = p / s;
+                            y = q / s;
+                            z = r / s;
+                            q /= p;
+                            r /= p;
+                            for (int j = k; j <= nn; j++) {
+                                p = a[k * n + j] + q * a[(k + 1) * n + j];
+                                if (k + 1 != nn) {
+                                    p += r * a[(k + 2) * n + j];
+                                    a[(k + 2) * n + j] -= p * z;
+                                }
+                                a[(k + 1) * n + j] -= p * y;
+                                a[k * n + j] -= p * x;
+                            }
+                            int last = Math.min(nn, k + 3);
+                            for (int i = l; i <= last; i++) {
+                                p = x * a[i * n + k] + y * a[i * n + k + 1];
+                                if (k + 1 != nn) {
+                                    p += z * a[i * n + k + 2];
+                                    a[i * n + k + 2] -= p * r;
+                                }
+                                a[i * n + k + 1] -= p * q;
+                                a[i * n + k] -= p;
+                            }
+                        }
+                    }
+                }
+            } while (l + 1 < nn);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package computation.software.codebase;
+
+/**
+ * Immutable complex number, plus static kernels that work on primitive (re, im) pairs for loops
+ * that must not allocate. Vectors of roots or responses belong in {@link ComplexArray}.
+ */
+public final class Complex {
+    public static final Complex ZERO = new Complex(0, 0);
+    public static final Complex ONE = new Complex(1, 0);
+
+    public final double real;
+    public final double imag;
+
+    public Complex(double real, double imag) {
+        this.real = real;
+        this.imag = imag;
+    }
+
+    public double getReal() {
+        return real;
+    }
+
+    public double getImag() {
+        return imag;
+    }
+
+    public Complex add(Complex other) {
+        return new Complex(real + other.real, imag + other.imag);
+    }
+
+    public Complex subtract(Complex other) {
+        return new Complex(real - other.real, imag - other.imag);
+    }
+
+    public Complex multiply(Complex other) {
+        return new Complex(real * other.real - imag * other.imag, real * other.imag + imag * other.real);
+    }
+
+    public Complex divide(Complex other) {
+        double denom = other.real * other.real + other.imag * other.imag;
+        if (denom == 0) {
+            throw new ArithmeticException("Division by zero in complex division");
+        }
+        return new Complex((real * other.real + imag * other.imag) / denom, (imag * other.real - real * other.imag) / denom);
+    }
+
+    public Complex scale(double scalar) {
+        return new Complex(real * scalar, imag * scalar);
+    }
+
+    public Complex conjugate() {
+        return new Complex(real, -imag);
+    }
+
+    public double abs() {
+        return Math.hypot(real, imag);
+    }
+
+    public Complex sqrt() {
+        double r = Math.sqrt(abs());
+        double theta = Math.atan2(imag, real) / 2;
+        return new Complex(r * Math.cos(theta), r * Math.sin(theta));
+    }
+
+    /**
+     * Evaluates a real polynomial (descending coefficients) at x = (xr, xi) by Horner's rule.
+     * Writes {Re P, Im P} to out[offset], out[offset + 1].
+     */
+    public static void horner(double[] coeffs, double xr, double xi, double[] out, int offset) {
+        double pr = 0, pi = 0;
+        for (double c : coeffs) {
+            double t = pr * xr - pi * xi + c;
+            pi = pr * xi + pi * xr;
+            pr = t;
+        }
+        out[offset] = pr;
+        out[offset + 1] = pi;
+    }
+
+    /**
+     * Horner's rule carrying the derivative alongside. Writes {Re P, Im P, Re P', Im P'} to
+     * out[offset .. offset + 3].
+     */
+    public static void hornerWithDerivative(double[] coeffs, double xr, double xi, double[] out, int offset) {
+        double pr = 0, pi = 0, dr = 0, di = 0;
+        for (double c : coeffs) {
+            double t = dr * xr - di * xi + pr;
+            di = dr * xi + di * xr + pi;
+            dr = t;
+            t = pr * xr - pi * xi + c;
+            pi = pr * xi + pi * xr;
+            pr = t;
+        }
+        out[offset] = pr;
+        out[offset + 1] = pi;
+        out[offset + 2] = dr;
+        out[offset + 3] = di;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Complex)) return false;
+        Complex other = (Complex) o;
+        return Double.compare(real, other.real) == 0 && Double.compare(imag, other.imag) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(real) + Double.hashCode(imag);
+    }
+
+    @Override
+    public String toString() {
+        if (Math.abs(imag) < 1e-10) {
+            return String.format("%.6f", real);
+        } else if (Math.abs(real) < 1e-10) {
+            return String.format("%.6fj", imag);
+        } else if (imag > 0) {
+            return String.format("%.6f + j%.6f", real, imag);
+        } else {
+            return String.format("%.6f - j%.6f", real, -imag);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package computation.software.codebase;
+
+/**
+ * Fixed-length vector of complex values stored as two parallel double arrays (struct of arrays),
+ * for root sets and frequency responses. Element access and the in-place accumulators work on
+ * primitives, so loops over a ComplexArray create no {@link Complex} objects.
+ */
+public final class ComplexArray {
+    private final double[] real;
+    private final double[] imag;
+
+    public ComplexArray(int length) {
+        if (length < 0) throw new IllegalArgumentException("Length must not be negative");
+        this.real = new double[length];
+        this.imag = new double[length];
+    }
+
+    public ComplexArray(double[] real, double[] imag) {
+        this(real, imag, true);
+    }
+
+    private ComplexArray(double[] real, double[] imag, boolean copy) {
+        if (real == null || imag == null || real.length != imag.length) {
+            throw new IllegalArgumentException("Real and imaginary parts must have the same length");
+        }
+        this.real = copy ? real.clone() : real;
+        this.imag = copy ? imag.clone() : imag;
+    }
+
+    // Takes ownership of the arrays without copying; for producers that just filled them
+    static ComplexArray wrap(double[] real, double[] imag) {
+        return new ComplexArray(real, imag, false);
+    }
+
+    public int length() {
+        return real.length;
+    }
+
+    public double getReal(int i) {
+        return real[i];
+    }
+
+    public double getImag(int i) {
+        return imag[i];
+    }
+
+    public double abs(int i) {
+        return Math.hypot(real[i], imag[i]);
+    }
+
+    public Complex get(int i) {
+        return new Complex(real[i], imag[i]);
+    }
+
+    public void set(int i, double re, double im) {
+        real[i] = re;
+        imag[i] = im;
+    }
+
+    public void add(int i, double re, double im) {
+        real[i] += re;
+        imag[i] += im;
+    }
+
+    public void multiply(int i, double re, double im) {
+        double r = real[i] * re - imag[i] * im;
+        imag[i] = real[i] * im + imag[i] * re;
+        real[i] = r;
+    }
+
+    /**
+     * Largest modulus in the array, or 0 when it is empty.
+     */
+    public double maxAbs() {
+        double max = 0;
+        for (int i = 0; i < real.length; i++) max = Math.max(max, Math.hypot(real[i], imag[i]));
+        return max;
+    }
+
+    public double[] copyReal() {
+        return real.clone();
+    }
+
+    public double[] copyImag() {
+        return imag.clone();
+    }
+
+    public Complex[] toArray() {
+        Complex[] values = new Complex[real.length];
+        for (int i = 0; i < values.length; i++) values[i] = new Complex(real[i], imag[i]);
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,454 @@
+package computation.software.codebase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of designed filters, keyed by the arguments of {@link ADFilterMapping#designFilter}
+ * and the sampling period. Records are appended to a data file and located through an open-addressing
+ * hash index in a memory-mapped side file (data file name + ".idx"). Coefficients are read straight
+ * out of the mapped data file.
+ *
+ * <p>Data file: a 16-byte header (magic, version) followed by records of
+ * {magic, type, order, numerator length, denominator length, padding, cutoff, ripple, stopband
+ * attenuation, T, numerator, denominator, CRC32}, little-endian and 8-byte aligned. A record that is
+ * cut short or fails its checksum marks the end of the store, and the file is truncated there when
+ * it is opened. The index only ever covers a verified prefix of the data file and is rebuilt from
+ * the data whenever it cannot be trusted.
+ *
+ * <p>A store is opened by one process at a time: the data file is locked while it is open. Records
+ * are written and read through a single mapping, so the data file is limited to 2 GiB. The mapping is
+ * sized to the next power of two, which pads the file with zeros past its last record; opening the
+ * store trims the padding like any other bad tail.
+ */
+public class DesignStore implements Closeable {
+    public static final int VERSION = 1;
+
+    private static final int DATA_MAGIC = 0x53445442; // "BTDS"
+    private static final int INDEX_MAGIC = 0x49445442; // "BTDI"
+    private static final int RECORD_MAGIC = 0x52445442; // "BTDR"
+    private static final int DATA_HEADER = 16;
+    private static final int INDEX_HEADER = 32;
+    private static final int RECORD_HEADER = 24; // Five ints and padding
+    private static final int KEY_DOUBLES = 4;
+    private static final int SLOT = 16; // {key hash, record offset}; offset 0 marks an empty slot
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int MAX_COEFFICIENTS = 1 << 16;
+    private static final long MAX_DATA_LENGTH = Integer.MAX_VALUE; // Largest single mapping
+    private static final long MIN_MAPPING = 1 << 16;
+
+    private final FileChannel data;
+    private final FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int slots, count;
+    private long dataLength;
+    private MappedByteBuffer dataView; // Map of [0, dataView.capacity()) of the data file
+
+    /**
+     * Opens the store at dataFile, creating it if needed, and recovers from an interrupted append.
+     * @throws IOException If the files cannot be used, are open elsewhere or were written by an
+     * unsupported version
+     */
+    public DesignStore(Path dataFile) throws IOException {
+        data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Two writers would interleave appends and overwrite each other's index slots
+            FileLock lock;
+            try {
+                lock = data.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null; // Already open in this JVM
+            }
+            if (lock == null) throw new IOException("Design store " + dataFile + " is already in use");
+            Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+            indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+        try {
+            openData();
+            openIndex();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void openData() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(DATA_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.size() < DATA_HEADER) {
+            // New file, or one that crashed before its header was complete
+            header.putInt(DATA_MAGIC).putInt(VERSION).putLong(0).flip();
+            data.truncate(0);
+            writeFully(data, header, 0);
+            data.force(true);
+            return;
+        }
+        if (data.size() > MAX_DATA_LENGTH) throw new IOException("Design store is larger than 2 GiB");
+        readFully(data, header, 0);
+        if (header.getInt(0) != DATA_MAGIC) throw new IOException("Not a design store");
+        if (header.getInt(4) != VERSION) throw new IOException("Unsupported design store version " + header.getInt(4));
+    }
+
+    private void openIndex() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        long covered = -1;
+        if (indexChannel.size() >= INDEX_HEADER) {
+            readFully(indexChannel, header, 0);
+            int storedSlots = header.getInt(8);
+            if (header.getInt(0) == INDEX_MAGIC && header.getInt(4) == VERSION && storedSlots >= INITIAL_SLOTS
+                    && Integer.bitCount(storedSlots) == 1
+                    && indexChannel.size() == INDEX_HEADER + (long) storedSlots * SLOT) {
+                slots = storedSlots;
+                covered = header.getLong(16);
+            }
+        }
+        if (covered < DATA_HEADER || covered > data.size()) {
+            // Missing, foreign or stale index: start an empty one and index every record
+            slots = INITIAL_SLOTS;
+            count = 0;
+            covered = DATA_HEADER;
+            mapIndex(true);
+        } else {
+            mapIndex(false);
+            scanSlots();
+        }
+        dataLength = covered;
+        recoverTail();
+        if (scanSlots() >= dataLength) {
+            // A slot outlived its record, which the tail recovery dropped: index everything again
+            slots = INITIAL_SLOTS;
+            count = 0;
+            mapIndex(true);
+            dataLength = DATA_HEADER;
+            recoverTail();
+        }
+    }
+
+    // Recounts the occupied slots and returns the largest indexed offset. The stored count is not
+    // trusted, since a crash between insert and commit leaves a slot behind without updating it.
+    private long scanSlots() {
+        count = 0;
+        long max = 0;
+        for (int i = 0; i < slots; i++) {
+            long offset = index.getLong(INDEX_HEADER + i * SLOT + 8);
+            if (offset == 0) continue;
+            count++;
+            max = Math.max(max, offset);
+        }
+        return max;
+    }
+
+    private void mapIndex(boolean clear) throws IOException {
+        long size = INDEX_HEADER + (long) slots * SLOT;
+        if (clear && indexChannel.size() > size) indexChannel.truncate(size); // Growing never shrinks a mapped file
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        index.order(ByteOrder.LITTLE_ENDIAN);
+        if (clear) {
+            for (long p = 0; p < size; p += 8) index.putLong((int) p, 0);
+            index.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putInt(8, slots);
+            index.putLong(16, -1); // Not valid until the first commit
+        }
+    }
+
+    // Verifies and indexes the records past the indexed prefix; stops and truncates at the first bad one
+    private void recoverTail() throws IOException {
+        long end = data.size();
+        long offset = dataLength;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        while (offset + RECORD_HEADER <= end) {
+            header.clear();
+            readFully(data, header, offset);
+            if (header.getInt(0) != RECORD_MAGIC || !validHeader(header, 0)) break;
+            long length = recordLength(header.getInt(12), header.getInt(16));
+            if (offset + length > end) break;
+            ByteBuffer record = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(data, record, offset);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, (int) length - 8);
+            if (record.getLong((int) length - 8) != crc.getValue()) break;
+            if ((long) (count + 1) * 2 > slots) grow();
+            insert(keyHash(record, 0), offset);
+            offset += length;
+        }
+        if (offset < end) {
+            data.truncate(offset);
+            data.force(true);
+        }
+        commit(offset);
+    }
+
+    /**
+     * Returns the stored design, or null if there is none.
+     */
+    public synchronized Entry get(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple,
+                                  double stopbandAtten, double T) throws IOException {
+        long offset = find(type, order, cutoffFreq, ripple, stopbandAtten, T);
+        return offset == 0 ? null : new Entry(view(dataLength), offset);
+    }
+
+    /**
+     * Returns the stored design, designing it with {@link ADFilterMapping#designFilter} and appending
+     * it to the store first if it is not there yet.
+     */
+    public synchronized Entry getOrDesign(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple,
+                                          double stopbandAtten, double T) throws IOException {
+        Entry entry = get(type, order, cutoffFreq, ripple, stopbandAtten, T);
+        if (entry != null) return entry;
+        SymbolicTransferFunction tf = new ADFilterMapping(T).designFilter(type, order, cutoffFreq, ripple, stopbandAtten);
+        return put(type, order, cutoffFreq, ripple, stopbandAtten, T, tf);
+    }
+
+    /**
+     * Stores a design under the given parameters. A key that is already present keeps its first
+     * design, which is returned instead.
+     */
+    public synchronized Entry put(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple,
+                                  double stopbandAtten, double T, SymbolicTransferFunction tf) throws IOException {
+        if (type == null || tf == null) throw new IllegalArgumentException("Filter type and transfer function must not be null");
+        long existing = find(type, order, cutoffFreq, ripple, stopbandAtten, T);
+        if (existing != 0) return new Entry(view(dataLength), existing);
+
+        double[] num = tf.getNumerator(), den = tf.getDenominator();
+        if (num.length > MAX_COEFFICIENTS || den.length > MAX_COEFFICIENTS) {
+            throw new IllegalArgumentException("Transfer function is too long to store");
+        }
+        int length = (int) recordLength(num.length, den.length);
+        if (dataLength + length > MAX_DATA_LENGTH) throw new IOException("Design store is full (2 GiB)");
+        ByteBuffer record = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(RECORD_MAGIC).putInt(type.ordinal()).putInt(order).putInt(num.length).putInt(den.length).putInt(0);
+        record.putDouble(cutoffFreq).putDouble(ripple).putDouble(stopbandAtten).putDouble(T);
+        for (double c : num) record.putDouble(c);
+        for (double c : den) record.putDouble(c);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, length - 8);
+        record.putLong(crc.getValue()).flip();
+
+        // Data reaches the disk before the index points at it
+        long offset = dataLength;
+        MappedByteBuffer view = view(offset + length);
+        ByteBuffer target = view.duplicate();
+        target.position((int) offset);
+        target.put(record);
+        view.force();
+        if ((long) (count + 1) * 2 > slots) grow();
+        insert(keyHash(record, 0), offset);
+        commit(offset + length);
+        return new Entry(view, offset);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index = null;
+        dataView = null;
+        try {
+            indexChannel.close();
+        } finally {
+            data.close();
+        }
+    }
+
+    private long find(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple,
+                      double stopbandAtten, double T) throws IOException {
+        if (type == null) throw new IllegalArgumentException("Filter type must not be null");
+        long hash = keyHash(type.ordinal(), order, Double.doubleToLongBits(cutoffFreq), Double.doubleToLongBits(ripple),
+                Double.doubleToLongBits(stopbandAtten), Double.doubleToLongBits(T));
+        int mask = slots - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            int slot = INDEX_HEADER + i * SLOT;
+            long offset = index.getLong(slot + 8);
+            if (offset == 0) return 0;
+            if (index.getLong(slot) != hash) continue;
+            ByteBuffer view = view(dataLength);
+            int p = (int) offset;
+            if (view.getInt(p + 4) == type.ordinal() && view.getInt(p + 8) == order
+                    && view.getLong(p + RECORD_HEADER) == Double.doubleToLongBits(cutoffFreq)
+                    && view.getLong(p + RECORD_HEADER + 8) == Double.doubleToLongBits(ripple)
+                    && view.getLong(p + RECORD_HEADER + 16) == Double.doubleToLongBits(stopbandAtten)
+                    && view.getLong(p + RECORD_HEADER + 24) == Double.doubleToLongBits(T)) {
+                return offset;
+            }
+        }
+    }
+
+    // Re-inserting an offset that is already indexed is a no-op, so replaying a tail is safe
+    private void insert(long hash, long offset) {
+        int mask = slots - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            int slot = INDEX_HEADER + i * SLOT;
+            long current = index.getLong(slot + 8);
+            if (current == offset) return;
+            if (current == 0) {
+                index.putLong(slot, hash);
+                index.putLong(slot + 8, offset);
+                count++;
+                return;
+            }
+        }
+    }
+
+    // Doubles the table. The header is invalidated first, so a crash part way forces a rebuild on open.
+    private void grow() throws IOException {
+        long[] entries = new long[2 * count];
+        int n = 0;
+        for (int i = 0; i < slots; i++) {
+            int slot = INDEX_HEADER + i * SLOT;
+            long offset = index.getLong(slot + 8);
+            if (offset == 0) continue;
+            entries[n++] = index.getLong(slot);
+            entries[n++] = offset;
+        }
+        index.putLong(16, -1);
+        index.force();
+        slots *= 2;
+        count = 0;
+        mapIndex(true);
+        for (int k = 0; k < n; k += 2) insert(entries[k], entries[k + 1]);
+    }
+
+    // Publishes the index as covering the data file up to end
+    private void commit(long end) {
+        dataLength = end;
+        index.putInt(12, count);
+        index.putLong(16, end);
+        index.force();
+    }
+
+    // Maps at least [0, required) of the data file, with headroom so that appends rarely remap
+    private MappedByteBuffer view(long required) throws IOException {
+        if (dataView == null || dataView.capacity() < required) {
+            long size = Math.min(MAX_DATA_LENGTH, Math.max(MIN_MAPPING, Long.highestOneBit(required - 1) << 1));
+            if (data.size() < size) writeFully(data, ByteBuffer.allocate(1), size - 1);
+            dataView = data.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            dataView.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return dataView;
+    }
+
+    // Whether the type and coefficient counts of the record at p can be used to read it
+    private static boolean validHeader(ByteBuffer buffer, int p) {
+        int type = buffer.getInt(p + 4), numLength = buffer.getInt(p + 12), denLength = buffer.getInt(p + 16);
+        return type >= 0 && type < ADFilterMapping.FilterType.values().length
+                && numLength >= 1 && denLength >= 1 && numLength <= MAX_COEFFICIENTS && denLength <= MAX_COEFFICIENTS;
+    }
+
+    private static long recordLength(int numLength, int denLength) {
+        return RECORD_HEADER + 8L * (KEY_DOUBLES + numLength + denLength) + 8;
+    }
+
+    private static long keyHash(ByteBuffer record, int p) {
+        return keyHash(record.getInt(p + 4), record.getInt(p + 8), record.getLong(p + RECORD_HEADER),
+                record.getLong(p + RECORD_HEADER + 8), record.getLong(p + RECORD_HEADER + 16), record.getLong(p + RECORD_HEADER + 24));
+    }
+
+    private static long keyHash(int type, int order, long cutoff, long ripple, long atten, long T) {
+        long h = type * 31L + order;
+        h = (h ^ cutoff) * 0x9E3779B97F4A7C15L;
+        h = (h ^ ripple) * 0x9E3779B97F4A7C15L;
+        h = (h ^ atten) * 0x9E3779B97F4A7C15L;
+        h = (h ^ T) * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL; // Spread the high bits down to the slot bits
+        return h ^ (h >>> 33);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of design store");
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer, position + buffer.position());
+    }
+
+    /**
+     * A stored design. The coefficient buffers are read-only views of the mapped data file; they
+     * stay valid for as long as the store is open.
+     */
+    public static final class Entry {
+        private final ADFilterMapping.FilterType type;
+        private final int order;
+        private final double cutoffFreq, ripple, stopbandAtten, samplingPeriod;
+        private final DoubleBuffer numerator, denominator;
+
+        private Entry(ByteBuffer view, long offset) throws IOException {
+            int p = (int) offset;
+            if (!validHeader(view, p)) throw new IOException("Corrupt design store record at offset " + offset);
+            type = ADFilterMapping.FilterType.values()[view.getInt(p + 4)];
+            order = view.getInt(p + 8);
+            int numLength = view.getInt(p + 12), denLength = view.getInt(p + 16);
+            cutoffFreq = view.getDouble(p + RECORD_HEADER);
+            ripple = view.getDouble(p + RECORD_HEADER + 8);
+            stopbandAtten = view.getDouble(p + RECORD_HEADER + 16);
+            samplingPeriod = view.getDouble(p + RECORD_HEADER + 24);
+            numerator = slice(view, p + RECORD_HEADER + 8 * KEY_DOUBLES, numLength);
+            denominator = slice(view, p + RECORD_HEADER + 8 * (KEY_DOUBLES + numLength), denLength);
+        }
+
+        private static DoubleBuffer slice(ByteBuffer view, int position, int length) {
+            ByteBuffer bytes = view.duplicate();
+            bytes.position(position).limit(position + 8 * length);
+            return bytes.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+        }
+
+        public ADFilterMapping.FilterType getType() {
+            return type;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public double getCutoffFreq() {
+            return cutoffFreq;
+        }
+
+        public double getRipple() {
+            return ripple;
+        }
+
+        public double getStopbandAtten() {
+            return stopbandAtten;
+        }
+
+        public double getSamplingPeriod() {
+            return samplingPeriod;
+        }
+
+        /**
+         * Numerator coefficients (descending powers of z), without copying.
+         */
+        public DoubleBuffer getNumerator() {
+            return numerator.duplicate();
+        }
+
+        public DoubleBuffer getDenominator() {
+            return denominator.duplicate();
+        }
+
+        public SymbolicTransferFunction toTransferFunction() {
+            double[] num = new double[numerator.capacity()];
+            double[] den = new double[denominator.capacity()];
+            numerator.duplicate().get(num);
+            denominator.duplicate().get(den);
+            return new SymbolicTransferFunction(num, den, "z");
+        }
+    }
+}
\ No newline at end of file
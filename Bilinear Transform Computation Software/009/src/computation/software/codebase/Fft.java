@@ -0,0 +1,154 @@
+package computation.software.codebase;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-place forward DFT X_k = Σ x_j e^(-2πijk/n) of one fixed length. Powers of two use an
+ * iterative radix-2 transform; other lengths use recursive mixed-radix decimation in time over
+ * the prime factors of n. Twiddle tables are built once per length and shared through a cache.
+ */
+public final class Fft {
+    private static final int MAX_CACHED_SIZE = 1 << 20;
+    private static final ConcurrentHashMap<Integer, Fft> CACHE = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final double[] cos; // cos(2πk/n), k = 0..n-1
+    private final double[] sin; // sin(2πk/n)
+    private final int[] factors; // Radices in the order they are applied, smallest first
+    private final int maxFactor;
+    private final boolean powerOfTwo;
+
+    private Fft(int size) {
+        this.size = size;
+        cos = new double[size];
+        sin = new double[size];
+        for (int k = 0; k < size; k++) {
+            double angle = 2 * Math.PI * k / size;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+        powerOfTwo = (size & (size - 1)) == 0;
+
+        int[] found = new int[32];
+        int count = 0;
+        int rest = size;
+        for (int p = 2; (long) p * p <= rest; p++) {
+            while (rest % p == 0) {
+                found[count++] = p;
+                rest /= p;
+            }
+        }
+        if (rest > 1) found[count++] = rest;
+        factors = new int[count];
+        System.arraycopy(found, 0, factors, 0, count);
+        int largest = 1;
+        for (int p : factors) largest = Math.max(largest, p);
+        maxFactor = largest;
+    }
+
+    /**
+     * Returns the shared transform for length n, building its tables on first use.
+     */
+    public static Fft forSize(int n) {
+        if (n < 1) throw new IllegalArgumentException("Transform length must be positive");
+        if (n > MAX_CACHED_SIZE) return new Fft(n);
+        return CACHE.computeIfAbsent(n, Fft::new);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Rough cost of one transform in Horner-step units, so callers can choose between the two
+    long operationCount() {
+        if (powerOfTwo) return (long) size * Integer.numberOfTrailingZeros(size);
+        long radixSum = 0;
+        for (int p : factors) radixSum += p;
+        return 2L * size * radixSum; // Generic butterflies cost O(p) per output
+    }
+
+    /**
+     * Replaces (re, im) by its forward DFT. Both arrays must hold at least getSize() elements.
+     */
+    public void transform(double[] re, double[] im) {
+        if (re.length < size || im.length < size) {
+            throw new IllegalArgumentException("Arrays are shorter than the transform length " + size);
+        }
+        if (size == 1) return;
+        if (powerOfTwo) {
+            radix2(re, im);
+            return;
+        }
+        double[] inRe = new double[size];
+        double[] inIm = new double[size];
+        System.arraycopy(re, 0, inRe, 0, size);
+        System.arraycopy(im, 0, inIm, 0, size);
+        mixedRadix(inRe, inIm, 0, 1, re, im, 0, size, 0, new double[maxFactor], new double[maxFactor]);
+    }
+
+    private void radix2(double[] re, double[] im) {
+        for (int i = 1, j = 0; i < size; i++) {
+            int bit = size >> 1;
+            for (; (j & bit) != 0; bit >>= 1) j ^= bit;
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int len = 2; len <= size; len <<= 1) {
+            int half = len >> 1;
+            int twiddleStep = size / len;
+            for (int i = 0; i < size; i += len) {
+                for (int j = 0, t = 0; j < half; j++, t += twiddleStep) {
+                    double wr = cos[t], wi = -sin[t];
+                    int a = i + j, b = a + half;
+                    double vr = re[b] * wr - im[b] * wi;
+                    double vi = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - vr;
+                    im[b] = im[a] - vi;
+                    re[a] += vr;
+                    im[a] += vi;
+                }
+            }
+        }
+    }
+
+    // X[k + r·m] = Σ_q W_n^(qk) W_p^(qr) Y_q[k], where Y_q is the length-m DFT of x[q], x[q+p], ...
+    private void mixedRadix(double[] inRe, double[] inIm, int inOffset, int stride,
+                            double[] outRe, double[] outIm, int outOffset, int n, int level,
+                            double[] tmpRe, double[] tmpIm) {
+        if (n == 1) {
+            outRe[outOffset] = inRe[inOffset];
+            outIm[outOffset] = inIm[inOffset];
+            return;
+        }
+        int p = factors[level];
+        int m = n / p;
+        for (int q = 0; q < p; q++) {
+            mixedRadix(inRe, inIm, inOffset + q * stride, stride * p, outRe, outIm, outOffset + q * m, m, level + 1, tmpRe, tmpIm);
+        }
+        int nStep = size / n;
+        int pStep = size / p;
+        for (int k = 0; k < m; k++) {
+            for (int q = 0; q < p; q++) {
+                int idx = outOffset + q * m + k;
+                int t = q * k * nStep;
+                double wr = cos[t], wi = -sin[t];
+                tmpRe[q] = outRe[idx] * wr - outIm[idx] * wi;
+                tmpIm[q] = outRe[idx] * wi + outIm[idx] * wr;
+            }
+            for (int r = 0; r < p; r++) {
+                double sr = 0, si = 0;
+                for (int q = 0; q < p; q++) {
+                    int t = (int) ((long) q * r % p) * pStep;
+                    double wr = cos[t], wi = -sin[t];
+                    sr += tmpRe[q] * wr - tmpIm[q] * wi;
+                    si += tmpRe[q] * wi + tmpIm[q] * wr;
+                }
+                outRe[outOffset + r * m + k] = sr;
+                outIm[outOffset + r * m + k] = si;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package computation.software.codebase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Size-bounded LRU cache of designed filters, keyed by every input that determines the result:
+ * filter type, order, cutoff, ripple, stopband attenuation, T and the pre-warp frequency. An entry
+ * holds the discrete filter in all the forms the windows use, its stability verdict and its
+ * response on [0, π]. Concurrent requests for the same key share one computation, so identical
+ * work is never done twice while the entry is cached.
+ */
+public class FilterDesignCache {
+    public static final int RESPONSE_POINTS = 512;
+    private static final double STABILITY_EPSILON = 1e-10; // Same threshold as StabilityVerification
+
+    private final int capacity;
+    private final LinkedHashMap<Key, CompletableFuture<Design>> entries;
+    private long hits, misses, evictions;
+
+    public FilterDesignCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Cache capacity must be positive");
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, CompletableFuture<Design>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Design>> eldest) {
+                if (size() <= FilterDesignCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached design for these parameters, designing it on a miss.
+     * @param preWarpOmega Digital frequency (rad/sample) the displayed analog function is pre-warped at
+     */
+    public Design get(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten,
+                      double T, double preWarpOmega) {
+        Key key = new Key(type, order, cutoffFreq, ripple, stopbandAtten, T, preWarpOmega);
+        CompletableFuture<Design> future;
+        boolean owner = false;
+        synchronized (this) {
+            future = entries.get(key);
+            if (future != null) {
+                hits++;
+            } else {
+                misses++;
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                future.complete(new Design(key));
+            } catch (Throwable e) {
+                // Errors too, or the waiters would block in join() on a future nobody completes
+                synchronized (this) {
+                    entries.remove(key, future); // Failures are not cached
+                }
+                future.completeExceptionally(e);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Key {
+        final ADFilterMapping.FilterType type;
+        final int order;
+        final double cutoffFreq, ripple, stopbandAtten, T, preWarpOmega;
+
+        Key(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten, double T, double preWarpOmega) {
+            if (type == null) throw new IllegalArgumentException("Filter type must not be null");
+            this.type = type;
+            this.order = order;
+            this.cutoffFreq = cutoffFreq;
+            this.ripple = ripple;
+            this.stopbandAtten = stopbandAtten;
+            this.T = T;
+            this.preWarpOmega = preWarpOmega;
+        }
+
+        // Bitwise comparison, so the key follows the exact values the design is computed from
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return type == k.type && order == k.order
+                    && Double.doubleToLongBits(cutoffFreq) == Double.doubleToLongBits(k.cutoffFreq)
+                    && Double.doubleToLongBits(ripple) == Double.doubleToLongBits(k.ripple)
+                    && Double.doubleToLongBits(stopbandAtten) == Double.doubleToLongBits(k.stopbandAtten)
+                    && Double.doubleToLongBits(T) == Double.doubleToLongBits(k.T)
+                    && Double.doubleToLongBits(preWarpOmega) == Double.doubleToLongBits(k.preWarpOmega);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = type.hashCode() * 31 + order;
+            h = h * 31 + Double.hashCode(cutoffFreq);
+            h = h * 31 + Double.hashCode(ripple);
+            h = h * 31 + Double.hashCode(stopbandAtten);
+            h = h * 31 + Double.hashCode(T);
+            return h * 31 + Double.hashCode(preWarpOmega);
+        }
+    }
+
+    /**
+     * One cached design. Everything is computed up front and never changes afterwards.
+     */
+    public static final class Design {
+        private final ZeroPoleGain zpk;
+        private final SymbolicTransferFunction discreteTf;
+        private final SecondOrderSections sections;
+        private final SymbolicTransferFunction preWarpedTf;
+        private final double preWarpedFrequency;
+        private final double stabilityMargin;
+        private final boolean stable;
+        private final double[] magnitudeDb = new double[RESPONSE_POINTS];
+        private final double[] phaseDegrees = new double[RESPONSE_POINTS];
+        private final double[] groupDelay = new double[RESPONSE_POINTS];
+
+        private Design(Key key) {
+            zpk = new ADFilterMapping(key.T).designZpk(key.type, key.order, key.cutoffFreq, key.ripple, key.stopbandAtten);
+            discreteTf = zpk.toTransferFunction();
+            sections = SecondOrderSections.fromZpk(zpk);
+
+            // Same pre-warped view of the coefficients the main window has always shown
+            PreWarpingCapability preWarping = new PreWarpingCapability(key.T);
+            preWarpedFrequency = preWarping.computePreWarpedFrequency(key.preWarpOmega);
+            SymbolicTransferFunction analogTf = new SymbolicTransferFunction(discreteTf.getNumerator(), discreteTf.getDenominator(), "s");
+            preWarpedTf = preWarping.applyPreWarping(analogTf, key.preWarpOmega, preWarpedFrequency);
+
+            // From the exact poles; the expanded denominator misplaces them from about order 16 up
+            stabilityMargin = zpk.stabilityMargin();
+            stable = stabilityMargin > STABILITY_EPSILON;
+            new FrequencyResponseEvaluator(sections).evaluateGrid(0, Math.PI / (RESPONSE_POINTS - 1), RESPONSE_POINTS,
+                    magnitudeDb, phaseDegrees, groupDelay);
+        }
+
+        public ZeroPoleGain getZpk() {
+            return zpk;
+        }
+
+        public SymbolicTransferFunction getDiscreteTf() {
+            return discreteTf;
+        }
+
+        public SecondOrderSections getSections() {
+            return sections;
+        }
+
+        public SymbolicTransferFunction getPreWarpedTf() {
+            return preWarpedTf;
+        }
+
+        public double getPreWarpedFrequency() {
+            return preWarpedFrequency;
+        }
+
+        public double getStabilityMargin() {
+            return stabilityMargin;
+        }
+
+        public boolean isStable() {
+            return stable;
+        }
+
+        public ComplexArray getPoles() {
+            return new ComplexArray(zpk.getPolesReal(), zpk.getPolesImag());
+        }
+
+        public ComplexArray getZeros() {
+            return new ComplexArray(zpk.getZerosReal(), zpk.getZerosImag());
+        }
+
+        /**
+         * Copies the response on RESPONSE_POINTS frequencies evenly spaced over [0, π] into the
+         * caller's arrays; any of them may be null.
+         */
+        public void copyResponse(double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+            if (magnitudeDb != null) System.arraycopy(this.magnitudeDb, 0, magnitudeDb, 0, RESPONSE_POINTS);
+            if (phaseDegrees != null) System.arraycopy(this.phaseDegrees, 0, phaseDegrees, 0, RESPONSE_POINTS);
+            if (groupDelay != null) System.arraycopy(this.groupDelay, 0, groupDelay, 0, RESPONSE_POINTS);
+        }
+    }
+}
\ No newline at end of file
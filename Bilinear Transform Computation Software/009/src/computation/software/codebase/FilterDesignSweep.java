@@ -0,0 +1,286 @@
+package computation.software.codebase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Brute-force sweep over the design space of {@link ADFilterMapping#designZpk}: every combination of
+ * filter type, order, cutoff, ripple, stopband attenuation and sampling period is designed, checked
+ * for stability and measured on the frequency axis. The grid is split into ranges that run on a
+ * ForkJoinPool with work stealing; each worker thread keeps its own scratch buffers, and results
+ * are streamed to a sink as they are produced instead of being collected.
+ */
+public class FilterDesignSweep {
+    private static final int POINTS_PER_TASK = 64;
+    private static final int METRIC_POINTS = 512; // Magnitude samples on [0, π]
+    private static final double METRIC_STEP = Math.PI / (METRIC_POINTS - 1);
+    private static final double MAGNITUDE_FLOOR = 1e-10; // -200 dB, as in FrequencyResponseEvaluator
+    private static final double[] METRIC_COS = new double[METRIC_POINTS];
+    private static final double[] METRIC_SIN = new double[METRIC_POINTS];
+
+    static {
+        for (int k = 0; k < METRIC_POINTS; k++) {
+            METRIC_COS[k] = Math.cos(k * METRIC_STEP);
+            METRIC_SIN[k] = Math.sin(k * METRIC_STEP);
+        }
+    }
+
+    private final ADFilterMapping.FilterType[] types;
+    private final int minOrder, maxOrder;
+    private final Range cutoff, ripple, stopbandAtten, samplingPeriod;
+    private final double stopbandEdgeRatio;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * Receives results from the worker threads, concurrently and in no particular order, so
+     * implementations must be thread-safe.
+     */
+    public interface ResultSink {
+        void accept(Result result);
+    }
+
+    /**
+     * count values evenly spaced over [start, stop]; a single value when count is 1.
+     */
+    public static final class Range {
+        private final double start, stop;
+        private final int count;
+
+        public Range(double start, double stop, int count) {
+            if (count < 1) throw new IllegalArgumentException("A range needs at least one value");
+            if (Double.isNaN(start) || Double.isNaN(stop)) throw new IllegalArgumentException("Range bounds must be numbers");
+            this.start = start;
+            this.stop = stop;
+            this.count = count;
+        }
+
+        public static Range of(double value) {
+            return new Range(value, value, 1);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double value(int i) {
+            return count == 1 ? start : start + i * (stop - start) / (count - 1);
+        }
+    }
+
+    /**
+     * @param stopbandEdgeRatio Stopband edge as a multiple of the cutoff (analog frequencies)
+     */
+    public FilterDesignSweep(ADFilterMapping.FilterType[] types, int minOrder, int maxOrder, Range cutoff, Range ripple,
+                             Range stopbandAtten, Range samplingPeriod, double stopbandEdgeRatio) {
+        this(types, minOrder, maxOrder, cutoff, ripple, stopbandAtten, samplingPeriod, stopbandEdgeRatio, ForkJoinPool.commonPool());
+    }
+
+    public FilterDesignSweep(ADFilterMapping.FilterType[] types, int minOrder, int maxOrder, Range cutoff, Range ripple,
+                             Range stopbandAtten, Range samplingPeriod, double stopbandEdgeRatio, ForkJoinPool pool) {
+        if (types == null || types.length == 0) throw new IllegalArgumentException("At least one filter type is required");
+        if (minOrder < 1 || maxOrder < minOrder) throw new IllegalArgumentException("Order range must be positive and non-empty");
+        if (cutoff == null || ripple == null || stopbandAtten == null || samplingPeriod == null) {
+            throw new IllegalArgumentException("Ranges must not be null");
+        }
+        if (!(stopbandEdgeRatio > 1)) throw new IllegalArgumentException("Stopband edge must lie above the cutoff");
+        if (pool == null) throw new IllegalArgumentException("Pool must not be null");
+        this.types = types.clone();
+        this.minOrder = minOrder;
+        this.maxOrder = maxOrder;
+        this.cutoff = cutoff;
+        this.ripple = ripple;
+        this.stopbandAtten = stopbandAtten;
+        this.samplingPeriod = samplingPeriod;
+        this.stopbandEdgeRatio = stopbandEdgeRatio;
+        this.pool = pool;
+    }
+
+    public long getPointCount() {
+        return (long) types.length * (maxOrder - minOrder + 1) * cutoff.getCount() * ripple.getCount()
+                * stopbandAtten.getCount() * samplingPeriod.getCount();
+    }
+
+    /**
+     * Runs the whole grid and returns once every result has been handed to the sink. Points whose
+     * parameters the design rejects (e.g. a non-positive cutoff) are skipped.
+     * @return The number of results delivered
+     */
+    public long run(ResultSink sink) {
+        if (sink == null) throw new IllegalArgumentException("Sink must not be null");
+        SweepTask root = new SweepTask(sink, 0, getPointCount());
+        pool.invoke(root);
+        return root.delivered;
+    }
+
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ResultSink sink;
+        private final long from, to;
+        private long delivered;
+
+        SweepTask(ResultSink sink, long from, long to) {
+            this.sink = sink;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= POINTS_PER_TASK) {
+                Workspace workspace = workspaces.get();
+                for (long index = from; index < to; index++) {
+                    Result result = evaluate(index, workspace);
+                    if (result != null) {
+                        sink.accept(result);
+                        delivered++;
+                    }
+                }
+                return;
+            }
+            long mid = (from + to) >>> 1;
+            SweepTask left = new SweepTask(sink, from, mid);
+            SweepTask right = new SweepTask(sink, mid, to);
+            invokeAll(left, right);
+            delivered = left.delivered + right.delivered;
+        }
+    }
+
+    // Decodes the flat index (sampling period varies fastest) and designs and measures that point
+    private Result evaluate(long index, Workspace workspace) {
+        int t = (int) (index % samplingPeriod.getCount());
+        index /= samplingPeriod.getCount();
+        int s = (int) (index % stopbandAtten.getCount());
+        index /= stopbandAtten.getCount();
+        int r = (int) (index % ripple.getCount());
+        index /= ripple.getCount();
+        int c = (int) (index % cutoff.getCount());
+        index /= cutoff.getCount();
+        int order = minOrder + (int) (index % (maxOrder - minOrder + 1));
+        ADFilterMapping.FilterType type = types[(int) (index / (maxOrder - minOrder + 1))];
+
+        double T = samplingPeriod.value(t);
+        double cutoffFreq = cutoff.value(c);
+        double rippleDb = ripple.value(r);
+        double attenuation = stopbandAtten.value(s);
+        ZeroPoleGain zpk;
+        try {
+            zpk = new ADFilterMapping(T).designZpk(type, order, cutoffFreq, rippleDb, attenuation);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        SymbolicTransferFunction tf = zpk.toTransferFunction();
+        // Margin and magnitude both come straight from the factors, which stay accurate at orders
+        // where the expanded polynomial would not and need no sections or evaluator per point
+        double margin = zpk.stabilityMargin();
+        double[] magnitude = workspace.magnitudeDb;
+        for (int k = 0; k < METRIC_POINTS; k++) {
+            magnitude[k] = 20 * Math.log10(zpk.magnitude(METRIC_COS[k], METRIC_SIN[k]) + MAGNITUDE_FLOOR);
+        }
+        double passbandEdge = 2 * Math.atan(cutoffFreq * T / 2); // Bilinear map of the analog edges
+        double stopbandEdge = 2 * Math.atan(stopbandEdgeRatio * cutoffFreq * T / 2);
+        double passMax = Double.NEGATIVE_INFINITY, passMin = Double.POSITIVE_INFINITY, stopMax = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < METRIC_POINTS; k++) {
+            double omega = k * METRIC_STEP;
+            if (omega <= passbandEdge) {
+                passMax = Math.max(passMax, magnitude[k]);
+                passMin = Math.min(passMin, magnitude[k]);
+            } else if (omega >= stopbandEdge) {
+                stopMax = Math.max(stopMax, magnitude[k]);
+            }
+        }
+        return new Result(type, order, cutoffFreq, rippleDb, attenuation, T, tf.getNumerator(), tf.getDenominator(),
+                margin, passMax - passMin, stopMax == Double.NEGATIVE_INFINITY ? Double.NaN : -stopMax);
+    }
+
+    // Per-thread scratch, reused for every point a worker evaluates
+    private static class Workspace {
+        final double[] magnitudeDb = new double[METRIC_POINTS];
+    }
+
+    /**
+     * One designed grid point. Magnitudes are in dB on the discrete frequency axis; the band edges
+     * are the bilinear images of the analog cutoff and of cutoff × stopband edge ratio.
+     */
+    public static final class Result {
+        private final ADFilterMapping.FilterType type;
+        private final int order;
+        private final double cutoffFreq, ripple, stopbandAtten, samplingPeriod;
+        private final double[] numerator, denominator;
+        private final double stabilityMargin;
+        private final double passbandRippleDb, stopbandAttenuationDb;
+
+        Result(ADFilterMapping.FilterType type, int order, double cutoffFreq, double ripple, double stopbandAtten,
+               double samplingPeriod, double[] numerator, double[] denominator, double stabilityMargin,
+               double passbandRippleDb, double stopbandAttenuationDb) {
+            this.type = type;
+            this.order = order;
+            this.cutoffFreq = cutoffFreq;
+            this.ripple = ripple;
+            this.stopbandAtten = stopbandAtten;
+            this.samplingPeriod = samplingPeriod;
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.stabilityMargin = stabilityMargin;
+            this.passbandRippleDb = passbandRippleDb;
+            this.stopbandAttenuationDb = stopbandAttenuationDb;
+        }
+
+        public ADFilterMapping.FilterType getType() {
+            return type;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public double getCutoffFreq() {
+            return cutoffFreq;
+        }
+
+        public double getRipple() {
+            return ripple;
+        }
+
+        public double getStopbandAtten() {
+            return stopbandAtten;
+        }
+
+        public double getSamplingPeriod() {
+            return samplingPeriod;
+        }
+
+        public double[] getNumerator() {
+            return numerator.clone();
+        }
+
+        public double[] getDenominator() {
+            return denominator.clone();
+        }
+
+        /**
+         * 1 minus the largest pole radius; see {@link ZeroPoleGain#stabilityMargin()}.
+         */
+        public double getStabilityMargin() {
+            return stabilityMargin;
+        }
+
+        public boolean isStable() {
+            return stabilityMargin > 0;
+        }
+
+        /**
+         * Peak-to-peak magnitude variation over the passband.
+         */
+        public double getPassbandRippleDb() {
+            return passbandRippleDb;
+        }
+
+        /**
+         * Minimum attenuation over the stopband, or NaN when the stopband edge maps past π.
+         */
+        public double getStopbandAttenuationDb() {
+            return stopbandAttenuationDb;
+        }
+    }
+}
\ No newline at end of file
@@ -2,16 +2,57 @@ package computation.software.codebase;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Arrays;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 public class FrequencyResponse extends JFrame {
     private final SymbolicTransferFunction tf;
+    private final FrequencyResponseEvaluator evaluator;
+    private final SnapshotPublisher<Responses> responses = new SnapshotPublisher<>(this::repaint);
+    // Magnitude and phase over a dragged-out band; null while the full [0, π] is shown
+    private final SnapshotPublisher<Band> zoom = new SnapshotPublisher<>(this::repaint);
     private final Font bahnschriftFont = new Font("Bahnschrift", Font.PLAIN, 12);
-    private static final int NUM_POINTS = 512;
-    private static final double EPSILON = 1e-10;
+    private static final int NUM_POINTS = FilterDesignCache.RESPONSE_POINTS;
+    private static final int TIME_SAMPLES = 50;
 
     public FrequencyResponse(SymbolicTransferFunction tf) {
+        this(tf, tf != null ? SecondOrderSections.fromTransferFunction(tf) : null);
+    }
+
+    /**
+     * @param sections Cascade realization of tf, used for both the spectra and the time responses
+     */
+    public FrequencyResponse(SymbolicTransferFunction tf, SecondOrderSections sections) {
+        this(tf, sections, null);
+    }
+
+    /**
+     * Opens on a cached design, whose spectra are copied instead of being evaluated again.
+     */
+    public FrequencyResponse(FilterDesignCache.Design design) {
+        this(design.getDiscreteTf(), design.getSections(), design);
+    }
+
+    private FrequencyResponse(SymbolicTransferFunction tf, SecondOrderSections sections, FilterDesignCache.Design design) {
         this.tf = tf;
+        this.evaluator = sections != null ? new FrequencyResponseEvaluator(sections) : null;
+        if (sections != null) {
+            TimeDomainResponse timeResponse = new TimeDomainResponse(sections);
+            FrequencyResponseEvaluator spectra = evaluator;
+            responses.submit(() -> {
+                double[] magnitudeDb = new double[NUM_POINTS];
+                double[] phaseDegrees = new double[NUM_POINTS];
+                double[] groupDelay = new double[NUM_POINTS];
+                if (design != null) {
+                    design.copyResponse(magnitudeDb, phaseDegrees, groupDelay);
+                } else {
+                    // All three spectra in one pass over [0, π]
+                    spectra.evaluateGrid(0, Math.PI / (NUM_POINTS - 1), NUM_POINTS, magnitudeDb, phaseDegrees, groupDelay);
+                }
+                return new Responses(magnitudeDb, phaseDegrees, groupDelay,
+                        timeResponse.impulseResponse(TIME_SAMPLES), timeResponse.stepResponse(TIME_SAMPLES));
+            });
+        }
         setTitle("Frequency Response Analysis");
         setSize(900, 600);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -35,14 +76,16 @@ public class FrequencyResponse extends JFrame {
     private JPanel createMagnitudePanel() {
         return new ResponsePanel("Magnitude Response (dB)", "Frequency (rad/sample)", "Magnitude (dB)") {
             @Override
-            protected double[] computeResponse() {
-                double[] response = new double[NUM_POINTS];
-                for (int i = 0; i < NUM_POINTS; i++) {
-                    double omega = i * Math.PI / (NUM_POINTS - 1);
-                    double[] h = evaluateTransferFunction(omega);
-                    response[i] = 20 * Math.log10(Math.sqrt(h[0] * h[0] + h[1] * h[1]) + EPSILON);
-                }
-                return response;
+            protected double[] getResponse() {
+                if (zoom.getFailure() != null) return null; // Reported until the zoom is reset
+                Band band = zoom.get();
+                if (band != null) return band.magnitudeDb;
+                return responses.get() != null ? responses.get().magnitudeDb : null;
+            }
+
+            @Override
+            protected boolean isZoomable() {
+                return true;
             }
         };
     }
@@ -50,14 +93,16 @@ public class FrequencyResponse extends JFrame {
     private JPanel createPhasePanel() {
         return new ResponsePanel("Phase Response", "Frequency (rad/sample)", "Phase (degrees)") {
             @Override
-            protected double[] computeResponse() {
-                double[] response = new double[NUM_POINTS];
-                for (int i = 0; i < NUM_POINTS; i++) {
-                    double omega = i * Math.PI / (NUM_POINTS - 1);
-                    double[] h = evaluateTransferFunction(omega);
-                    response[i] = Math.toDegrees(Math.atan2(h[1], h[0]));
-                }
-                return response;
+            protected double[] getResponse() {
+                if (zoom.getFailure() != null) return null;
+                Band band = zoom.get();
+                if (band != null) return band.phaseDegrees;
+                return responses.get() != null ? responses.get().phaseDegrees : null;
+            }
+
+            @Override
+            protected boolean isZoomable() {
+                return true;
             }
         };
     }
@@ -65,18 +110,8 @@ public class FrequencyResponse extends JFrame {
     private JPanel createGroupDelayPanel() {
         return new ResponsePanel("Group Delay", "Frequency (rad/sample)", "Group Delay (samples)") {
             @Override
-            protected double[] computeResponse() {
-                double[] response = new double[NUM_POINTS];
-                double deltaOmega = Math.PI / (NUM_POINTS - 1);
-                for (int i = 0; i < NUM_POINTS; i++) {
-                    double omega = i * deltaOmega;
-                    double[] h1 = evaluateTransferFunction(omega);
-                    double[] h2 = evaluateTransferFunction(omega + deltaOmega * 0.01);
-                    double phase1 = Math.atan2(h1[1], h1[0]);
-                    double phase2 = Math.atan2(h2[1], h2[0]);
-                    response[i] = -(phase2 - phase1) / (0.01 * deltaOmega);
-                }
-                return response;
+            protected double[] getResponse() {
+                return responses.get() != null ? responses.get().groupDelay : null;
             }
         };
     }
@@ -84,26 +119,8 @@ public class FrequencyResponse extends JFrame {
     private JPanel createImpulseResponsePanel() {
         return new ResponsePanel("Impulse Response", "Sample Index", "Amplitude") {
             @Override
-            protected double[] computeResponse() {
-                double[] response = new double[50]; // 50 samples
-                double[] num = tf.getNumerator();
-                double[] den = tf.getDenominator();
-                double[] x = new double[response.length];
-                x[0] = 1.0; // Impulse input
-                for (int n = 0; n < response.length; n++) {
-                    double y = 0;
-                    for (int k = 0; k < num.length && n - k >= 0; k++) {
-                        y += num[num.length - 1 - k] * x[n - k];
-                    }
-                    for (int k = 1; k < den.length && n - k >= 0; k++) {
-                        y -= den[den.length - 1 - k] * response[n - k];
-                    }
-                    if (Math.abs(den[den.length - 1]) > EPSILON) {
-                        y /= den[den.length - 1];
-                    }
-                    response[n] = y;
-                }
-                return response;
+            protected double[] getResponse() {
+                return responses.get() != null ? responses.get().impulse : null;
             }
         };
     }
@@ -111,59 +128,79 @@ public class FrequencyResponse extends JFrame {
     private JPanel createStepResponsePanel() {
         return new ResponsePanel("Step Response", "Sample Index", "Amplitude") {
             @Override
-            protected double[] computeResponse() {
-                double[] response = new double[50]; // 50 samples
-                double[] num = tf.getNumerator();
-                double[] den = tf.getDenominator();
-                double[] x = new double[response.length];
-                Arrays.fill(x, 1.0); // Step input
-                for (int n = 0; n < response.length; n++) {
-                    double y = 0;
-                    for (int k = 0; k < num.length && n - k >= 0; k++) {
-                        y += num[num.length - 1 - k] * x[n - k];
-                    }
-                    for (int k = 1; k < den.length && n - k >= 0; k++) {
-                        y -= den[den.length - 1 - k] * response[n - k];
-                    }
-                    if (Math.abs(den[den.length - 1]) > EPSILON) {
-                        y /= den[den.length - 1];
-                    }
-                    response[n] = y;
-                }
-                return response;
+            protected double[] getResponse() {
+                return responses.get() != null ? responses.get().step : null;
             }
         };
     }
 
-    private double[] evaluateTransferFunction(double omega) {
-        double[] num = tf.getNumerator();
-        double[] den = tf.getDenominator();
-        double realNum = 0, imagNum = 0, realDen = 0, imagDen = 0;
+    private boolean isZoomed() {
+        return zoom.get() != null;
+    }
+
+    private double zoomStart() {
+        return isZoomed() ? zoom.get().start : 0;
+    }
 
-        for (int i = 0; i < num.length; i++) {
-            double angle = -i * omega;
-            realNum += num[num.length - 1 - i] * Math.cos(angle);
-            imagNum += num[num.length - 1 - i] * Math.sin(angle);
+    private double zoomEnd() {
+        return isZoomed() ? zoom.get().end : Math.PI;
+    }
+
+    /**
+     * Re-evaluates the Magnitude and Phase tabs over [start, end] at the full NUM_POINTS
+     * resolution, with a chirp-z transform per section of the cascade, so a narrow band costs no
+     * more than the full axis. The tabs keep showing the current band until the new one is ready.
+     */
+    private void setZoom(double start, double end) {
+        double from = Math.max(0, start);
+        double to = Math.min(Math.PI, end);
+        if (evaluator == null || to - from < 1e-9) return;
+        if (from <= 0 && to >= Math.PI) {
+            zoom.set(null);
+            return;
         }
+        zoom.submit(() -> {
+            double[] magnitudeDb = new double[NUM_POINTS];
+            double[] phaseDegrees = new double[NUM_POINTS];
+            evaluator.evaluateGrid(from, (to - from) / (NUM_POINTS - 1), NUM_POINTS, magnitudeDb, phaseDegrees, null,
+                    FrequencyResponseEvaluator.Method.CHIRP_Z);
+            return new Band(from, to, magnitudeDb, phaseDegrees);
+        });
+    }
+
+    // Everything the tabs draw at full range; the arrays are never written after publication
+    private static final class Responses {
+        final double[] magnitudeDb, phaseDegrees, groupDelay, impulse, step;
 
-        for (int i = 0; i < den.length; i++) {
-            double angle = -i * omega;
-            realDen += den[den.length - 1 - i] * Math.cos(angle);
-            imagDen += den[den.length - 1 - i] * Math.sin(angle);
+        Responses(double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay, double[] impulse, double[] step) {
+            this.magnitudeDb = magnitudeDb;
+            this.phaseDegrees = phaseDegrees;
+            this.groupDelay = groupDelay;
+            this.impulse = impulse;
+            this.step = step;
         }
+    }
 
-        double denom = realDen * realDen + imagDen * imagDen;
-        if (Math.abs(denom) < EPSILON) return new double[]{0, 0};
-        return new double[]{
-                (realNum * realDen + imagNum * imagDen) / denom,
-                (imagNum * realDen - realNum * imagDen) / denom
-        };
+    private static final class Band {
+        final double start, end;
+        final double[] magnitudeDb, phaseDegrees;
+
+        Band(double start, double end, double[] magnitudeDb, double[] phaseDegrees) {
+            this.start = start;
+            this.end = end;
+            this.magnitudeDb = magnitudeDb;
+            this.phaseDegrees = phaseDegrees;
+        }
     }
 
     private abstract class ResponsePanel extends JPanel {
         private final String title;
         private final String xLabel;
         private final String yLabel;
+        private static final int MARGIN = 50;
+        private final PlotLayerCache layer = new PlotLayerCache();
+        private int dragStart = -1; // Pixel where a zoom selection began, -1 when none
+        private int dragEnd;
 
         public ResponsePanel(String title, String xLabel, String yLabel) {
             this.title = title;
@@ -171,16 +208,66 @@ public class FrequencyResponse extends JFrame {
             this.yLabel = yLabel;
             setBackground(new Color(50, 50, 50));
             setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+            setFont(bahnschriftFont);
+
+            // Drag across the plot to zoom into that band; double-click to return to [0, π]
+            MouseAdapter zoomHandler = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    if (!isZoomable()) return;
+                    dragStart = e.getX();
+                    dragEnd = e.getX();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (dragStart < 0) return;
+                    // Only the strip between the old and new edge of the selection changes
+                    int x = Math.min(dragEnd, e.getX());
+                    int w = Math.abs(e.getX() - dragEnd);
+                    dragEnd = e.getX();
+                    repaint(x - 1, MARGIN, w + 2, getHeight() - 2 * MARGIN);
+                }
+
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    if (dragStart < 0) return;
+                    if (Math.abs(dragEnd - dragStart) > 3) {
+                        setZoom(frequencyAt(Math.min(dragStart, dragEnd)), frequencyAt(Math.max(dragStart, dragEnd)));
+                    }
+                    dragStart = -1;
+                    repaint();
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (isZoomable() && e.getClickCount() == 2) setZoom(0, Math.PI);
+                }
+            };
+            addMouseListener(zoomHandler);
+            addMouseMotionListener(zoomHandler);
         }
 
-        protected abstract double[] computeResponse();
+        /**
+         * The cached data this tab draws, or null while it is still being computed or has failed.
+         */
+        protected abstract double[] getResponse();
+
+        protected boolean isZoomable() {
+            return false;
+        }
+
+        private double frequencyAt(int x) {
+            double fraction = (double) (x - MARGIN) / (getWidth() - 2 * MARGIN);
+            fraction = Math.max(0, Math.min(1, fraction));
+            return zoomStart() + fraction * (zoomEnd() - zoomStart());
+        }
 
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(bahnschriftFont);
 
             if (tf == null) {
                 g2.setColor(Color.WHITE);
@@ -188,11 +275,25 @@ public class FrequencyResponse extends JFrame {
                 return;
             }
 
-            int width = getWidth();
-            int height = getHeight();
-            int margin = 50;
+            double[] response = getResponse();
+            if (response == null) {
+                String text = isZoomable() && zoom.getFailure() != null ? zoom.statusText() : responses.statusText();
+                g2.setColor(Color.WHITE);
+                g2.drawString(text, (getWidth() - g2.getFontMetrics().stringWidth(text)) / 2, getHeight() / 2);
+                return;
+            }
+            // Each zoom band has its own arrays, so the data alone identifies the plot
+            layer.paint(g2, this, response, (layerGraphics, width, height) -> paintPlot(layerGraphics, width, height, response));
+
+            // Zoom selection in progress
+            if (dragStart >= 0) {
+                g2.setColor(new Color(0, 120, 215, 60));
+                g2.fillRect(Math.min(dragStart, dragEnd), MARGIN, Math.abs(dragEnd - dragStart), getHeight() - 2 * MARGIN);
+            }
+        }
 
-            double[] response = computeResponse();
+        private void paintPlot(Graphics2D g2, int width, int height, double[] response) {
+            int margin = MARGIN;
             int nPoints = response.length;
 
             double xMin[] = new double[]{0, Double.MAX_VALUE};
@@ -215,7 +316,9 @@ public class FrequencyResponse extends JFrame {
                 minVal = Math.min(minVal, 0);
             }
 
-            double xMax = title.contains("Impulse") || title.contains("Step") ? nPoints - 1 : Math.PI;
+            double xStart = isZoomable() ? zoomStart() : 0;
+            double xMax = title.contains("Impulse") || title.contains("Step") ? nPoints - 1 : isZoomable() ? zoomEnd() : Math.PI;
+            String xFormat = isZoomable() && isZoomed() ? "%.4f" : "%.2f";
 
             // Draw grid
             g2.setColor(new Color(30, 30, 30));
@@ -235,11 +338,11 @@ public class FrequencyResponse extends JFrame {
             g2.drawString(xLabel, width - margin - 30, height - margin + 20);
             g2.drawString(yLabel, margin - 40, margin - 10);
             for (int i = 0; i <= 10; i++) {
-                double x = i * xMax / 10;
+                double x = xStart + i * (xMax - xStart) / 10;
                 double y = minVal + i * (maxVal - minVal) / 10;
                 int xPos = margin + i * (width - 2 * margin) / 10;
                 int yPos = height - margin - i * (height - 2 * margin) / 10;
-                g2.drawString(String.format("%.2f", x), xPos - 10, height - margin + 15);
+                g2.drawString(String.format(xFormat, x), xPos - 10, height - margin + 15);
                 g2.drawString(String.format("%.2f", y), margin - 40, yPos + 5);
             }
 
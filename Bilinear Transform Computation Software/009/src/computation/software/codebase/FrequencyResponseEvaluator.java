@@ -0,0 +1,405 @@
+package computation.software.codebase;
+
+import java.util.Arrays;
+
+public class FrequencyResponseEvaluator {
+    /**
+     * How a uniform grid is evaluated. HORNER works on any grid; FFT needs a discrete polynomial
+     * form and a grid ω_k = 2πk/L starting at 0; CHIRP_Z needs a discrete polynomial or section
+     * cascade and zooms onto any [ω1, ω2]. AUTO picks a transform when one applies and pays off,
+     * which for a cascade is never: each section needs its own transforms.
+     */
+    public enum Method { AUTO, HORNER, FFT, CHIRP_Z }
+
+    private final double[] numerator;
+    private final double[] denominator;
+    private final boolean analog; // true for H(s), evaluated on s = jω
+    private final double[] sectionCoefficients; // Preferred discrete realization when available, {b0, b1, b2, a1, a2} per section
+    private static final double EPSILON = 1e-10;
+    private static final int RESEED_INTERVAL = 64; // Grid points between exact cos/sin re-seeds of the phasor
+
+    public FrequencyResponseEvaluator(SymbolicTransferFunction tf) {
+        if (tf == null) throw new IllegalArgumentException("Transfer function must not be null");
+        this.numerator = tf.getNumerator();
+        this.denominator = tf.getDenominator();
+        this.analog = tf.getVariable().equals("s");
+        this.sectionCoefficients = null;
+    }
+
+    /**
+     * Evaluates a discrete filter section by section, avoiding the expanded high-order polynomials.
+     */
+    public FrequencyResponseEvaluator(SecondOrderSections sections) {
+        if (sections == null) throw new IllegalArgumentException("Sections must not be null");
+        this.numerator = null;
+        this.denominator = null;
+        this.analog = false;
+        this.sectionCoefficients = sections.getCoefficients();
+    }
+
+    /**
+     * Evaluates the transfer function on the frequency axis: H(e^jω) for discrete
+     * functions, H(jω) for analog ones.
+     * @param omega Frequency (rad/sample for z, rad/s for s)
+     * @return {Re H, Im H}, or {0, 0} when the denominator vanishes
+     */
+    public double[] evaluate(double omega) {
+        double[] h = new double[4];
+        evaluateAt(omega, h);
+        return new double[]{h[0], h[1]};
+    }
+
+    public double magnitudeDb(double omega) {
+        double[] h = evaluate(omega);
+        return 20 * Math.log10(Math.sqrt(h[0] * h[0] + h[1] * h[1]) + EPSILON);
+    }
+
+    public double phaseDegrees(double omega) {
+        double[] h = evaluate(omega);
+        return Math.toDegrees(Math.atan2(h[1], h[0]));
+    }
+
+    /**
+     * Group delay τ(ω) = -d∠H/dω, computed analytically from the polynomial derivatives.
+     * @return Group delay (samples for z, seconds for s); 0 where the response vanishes
+     */
+    public double groupDelay(double omega) {
+        double[] h = new double[4];
+        evaluateAt(omega, h);
+        return h[2];
+    }
+
+    /**
+     * Evaluates count frequencies ω_k = start + k·step in one pass, writing into the caller's
+     * arrays. Any output array may be null to skip that quantity. Discrete grids advance e^jω
+     * by a rotation instead of calling cos/sin per point; nothing is allocated per point.
+     */
+    public void evaluateGrid(double start, double step, int count, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        evaluateGrid(start, step, count, magnitudeDb, phaseDegrees, groupDelay, Method.AUTO);
+    }
+
+    /**
+     * Same as {@link #evaluateGrid(double, double, int, double[], double[], double[])} with an explicit
+     * method. The FFT and chirp-z paths cost O(L log L) for the whole grid instead of O(N) per
+     * point; group delay there comes from the transforms of the ramped coefficients n·b_n, n·a_n.
+     */
+    public void evaluateGrid(double start, double step, int count, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay, Method method) {
+        boolean polynomial = sectionCoefficients == null && !analog;
+        int fftLength = polynomial ? fftLength(start, step) : 0;
+        if (method == Method.FFT && (!polynomial || fftLength == 0)) {
+            throw new IllegalArgumentException("FFT evaluation needs a discrete polynomial and a grid of 2πk/L from 0");
+        }
+        if (method == Method.CHIRP_Z && analog) {
+            throw new IllegalArgumentException("Chirp-z evaluation needs a discrete polynomial or sections");
+        }
+        if (method == Method.AUTO && polynomial) {
+            // Horner carries the derivative at no extra pass; the transforms need twice the work for it
+            int passes = groupDelay != null ? 2 : 1;
+            long hornerCost = (long) count * (numerator.length + denominator.length);
+            int common = Math.max(numerator.length, denominator.length);
+            if (fftLength > 0 && passes * Fft.forSize(fftLength).operationCount() < hornerCost) {
+                method = Method.FFT;
+            } else if (fftLength == 0 && ChirpZTransform.estimatedCost(common, count, 2 * passes) < hornerCost) {
+                method = Method.CHIRP_Z;
+            }
+        }
+        if (method == Method.FFT) {
+            evaluateFftGrid(fftLength, count, magnitudeDb, phaseDegrees, groupDelay);
+            return;
+        }
+        if (method == Method.CHIRP_Z && sectionCoefficients != null) {
+            evaluateSectionChirpZGrid(start, step, count, magnitudeDb, phaseDegrees, groupDelay);
+            return;
+        }
+        if (method == Method.CHIRP_Z) {
+            evaluateChirpZGrid(start, step, count, magnitudeDb, phaseDegrees, groupDelay);
+            return;
+        }
+        double[] h = new double[4];
+        GridWalker walker = new GridWalker(start, step);
+        for (int k = 0; k < count; k++) {
+            walker.advance(k);
+            evaluatePoint(walker.re, walker.im, h);
+            if (magnitudeDb != null) magnitudeDb[k] = 20 * Math.log10(Math.sqrt(h[0] * h[0] + h[1] * h[1]) + EPSILON);
+            if (phaseDegrees != null) phaseDegrees[k] = Math.toDegrees(Math.atan2(h[1], h[0]));
+            if (groupDelay != null) groupDelay[k] = h[2];
+        }
+    }
+
+    /**
+     * Same grid as {@link #evaluateGrid}, returning the complex response (e.g. for Nyquist plots).
+     */
+    public void evaluateComplexGrid(double start, double step, int count, double[] real, double[] imag) {
+        double[] h = new double[4];
+        GridWalker walker = new GridWalker(start, step);
+        for (int k = 0; k < count; k++) {
+            walker.advance(k);
+            evaluatePoint(walker.re, walker.im, h);
+            real[k] = h[0];
+            imag[k] = h[1];
+        }
+    }
+
+    /**
+     * Returns numPoints frequencies evenly spaced over [start, stop], both ends included.
+     */
+    public static double[] uniformGrid(double start, double stop, int numPoints) {
+        if (numPoints < 2) throw new IllegalArgumentException("At least two frequency points are required");
+        double[] grid = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            grid[i] = start + i * (stop - start) / (numPoints - 1);
+        }
+        return grid;
+    }
+
+    // L such that step = 2π/L, or 0 when the grid is not a DFT grid
+    private static int fftLength(double start, double step) {
+        if (start != 0 || step <= 0) return 0;
+        double length = 2 * Math.PI / step;
+        long rounded = Math.round(length);
+        if (rounded < 1 || rounded > Integer.MAX_VALUE || Math.abs(length - rounded) > 1e-9 * length) return 0;
+        return (int) rounded;
+    }
+
+    // With both polynomials left-padded to a common degree N, H(e^jω) = Σ b_n e^-jωn / Σ a_n e^-jωn,
+    // i.e. the ratio of two length-L DFTs; coefficients past L are folded in (e^-jωn is L-periodic).
+    // Both sequences are real, so one complex transform of b + ja yields both spectra, and one more
+    // of nb + j·na yields the ramped spectra for the group delay.
+    private void evaluateFftGrid(int length, int count, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        int common = Math.max(numerator.length, denominator.length);
+        Fft fft = Fft.forSize(length);
+        double[] re = fold(numerator, common, length, false);
+        double[] im = fold(denominator, common, length, false);
+        fft.transform(re, im);
+        double[] rampRe = null, rampIm = null;
+        if (groupDelay != null) {
+            rampRe = fold(numerator, common, length, true);
+            rampIm = fold(denominator, common, length, true);
+            fft.transform(rampRe, rampIm);
+        }
+        for (int k = 0; k < count; k++) {
+            int i = k % length;
+            int j = (length - i) % length;
+            // B[i] = (X[i] + conj X[j]) / 2, A[i] = (X[i] - conj X[j]) / 2j
+            writePoint(k, (re[i] + re[j]) / 2, (im[i] - im[j]) / 2, (im[i] + im[j]) / 2, (re[j] - re[i]) / 2, magnitudeDb, phaseDegrees);
+            if (groupDelay != null) {
+                groupDelay[k] = rampDelay((re[i] + re[j]) / 2, (im[i] - im[j]) / 2, (im[i] + im[j]) / 2, (re[j] - re[i]) / 2,
+                        (rampRe[i] + rampRe[j]) / 2, (rampIm[i] - rampIm[j]) / 2, (rampIm[i] + rampIm[j]) / 2, (rampRe[j] - rampRe[i]) / 2);
+            }
+        }
+    }
+
+    // Same padding as the FFT path, sampled at ω_k = start + k·step through chirp-z transforms
+    private void evaluateChirpZGrid(double start, double step, int count, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        int common = Math.max(numerator.length, denominator.length);
+        ChirpZTransform czt = new ChirpZTransform(common, count, start, step);
+        double[] numRe = new double[count], numIm = new double[count];
+        double[] denRe = new double[count], denIm = new double[count];
+        czt.transform(fold(numerator, common, common, false), null, numRe, numIm);
+        czt.transform(fold(denominator, common, common, false), null, denRe, denIm);
+        double[] rampNumRe = null, rampNumIm = null, rampDenRe = null, rampDenIm = null;
+        if (groupDelay != null) {
+            rampNumRe = new double[count];
+            rampNumIm = new double[count];
+            rampDenRe = new double[count];
+            rampDenIm = new double[count];
+            czt.transform(fold(numerator, common, common, true), null, rampNumRe, rampNumIm);
+            czt.transform(fold(denominator, common, common, true), null, rampDenRe, rampDenIm);
+        }
+        for (int k = 0; k < count; k++) {
+            writePoint(k, numRe[k], numIm[k], denRe[k], denIm[k], magnitudeDb, phaseDegrees);
+            if (groupDelay != null) {
+                groupDelay[k] = rampDelay(numRe[k], numIm[k], denRe[k], denIm[k], rampNumRe[k], rampNumIm[k], rampDenRe[k], rampDenIm[k]);
+            }
+        }
+    }
+
+    // Each section is B(ω)/A(ω) with B = Σ b_n e^-jωn over {b0, b1, b2} and A over {1, a1, a2},
+    // so one length-3 transform serves every section; the section responses are multiplied and
+    // their delays summed, as in the Horner path
+    private void evaluateSectionChirpZGrid(double start, double step, int count, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        ChirpZTransform czt = new ChirpZTransform(3, count, start, step);
+        double[] hRe = new double[count], hIm = new double[count], tau = groupDelay != null ? new double[count] : null;
+        Arrays.fill(hRe, 1);
+        double[] numRe = new double[count], numIm = new double[count];
+        double[] denRe = new double[count], denIm = new double[count];
+        double[] rampNumRe = null, rampNumIm = null, rampDenRe = null, rampDenIm = null;
+        if (groupDelay != null) {
+            rampNumRe = new double[count];
+            rampNumIm = new double[count];
+            rampDenRe = new double[count];
+            rampDenIm = new double[count];
+        }
+        double[] b = new double[3], a = new double[3], rampB = new double[3], rampA = new double[3];
+        for (int o = 0; o < sectionCoefficients.length; o += SecondOrderSections.STRIDE) {
+            b[0] = sectionCoefficients[o];
+            b[1] = sectionCoefficients[o + 1];
+            b[2] = sectionCoefficients[o + 2];
+            a[0] = 1;
+            a[1] = sectionCoefficients[o + 3];
+            a[2] = sectionCoefficients[o + 4];
+            czt.transform(b, null, numRe, numIm);
+            czt.transform(a, null, denRe, denIm);
+            if (groupDelay != null) {
+                rampB[1] = b[1];
+                rampB[2] = 2 * b[2];
+                rampA[1] = a[1];
+                rampA[2] = 2 * a[2];
+                czt.transform(rampB, null, rampNumRe, rampNumIm);
+                czt.transform(rampA, null, rampDenRe, rampDenIm);
+            }
+            for (int k = 0; k < count; k++) {
+                double dd = denRe[k] * denRe[k] + denIm[k] * denIm[k];
+                double qr = 0, qi = 0;
+                if (dd >= EPSILON) {
+                    qr = (numRe[k] * denRe[k] + numIm[k] * denIm[k]) / dd;
+                    qi = (numIm[k] * denRe[k] - numRe[k] * denIm[k]) / dd;
+                }
+                double t = hRe[k] * qr - hIm[k] * qi;
+                hIm[k] = hRe[k] * qi + hIm[k] * qr;
+                hRe[k] = t;
+                if (tau != null) {
+                    tau[k] += rampDelay(numRe[k], numIm[k], denRe[k], denIm[k], rampNumRe[k], rampNumIm[k], rampDenRe[k], rampDenIm[k]);
+                }
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            writePoint(k, hRe[k], hIm[k], 1, 0, magnitudeDb, phaseDegrees);
+            if (groupDelay != null) groupDelay[k] = tau[k];
+        }
+    }
+
+    private static void writePoint(int k, double numRe, double numIm, double denRe, double denIm, double[] magnitudeDb, double[] phaseDegrees) {
+        double dd = denRe * denRe + denIm * denIm;
+        double hr = 0, hi = 0;
+        if (dd >= EPSILON) {
+            hr = (numRe * denRe + numIm * denIm) / dd;
+            hi = (numIm * denRe - numRe * denIm) / dd;
+        }
+        if (magnitudeDb != null) magnitudeDb[k] = 20 * Math.log10(Math.sqrt(hr * hr + hi * hi) + EPSILON);
+        if (phaseDegrees != null) phaseDegrees[k] = Math.toDegrees(Math.atan2(hi, hr));
+    }
+
+    // For X(ω) = Σ x_n e^-jωn, -d∠X/dω = Re{R/X} with R = Σ n x_n e^-jωn, so τ = Re{R_b/B} - Re{R_a/A}
+    private static double rampDelay(double numRe, double numIm, double denRe, double denIm,
+                                    double rampNumRe, double rampNumIm, double rampDenRe, double rampDenIm) {
+        double dd = denRe * denRe + denIm * denIm;
+        if (dd < EPSILON) return 0;
+        double tau = (rampDenRe * denRe + rampDenIm * denIm) / dd;
+        double nn = numRe * numRe + numIm * numIm;
+        if (nn > 0) tau = (rampNumRe * numRe + rampNumIm * numIm) / nn - tau;
+        else tau = -tau;
+        return tau;
+    }
+
+    // Left-pads coeffs to common length and folds it modulo length; ramp multiplies entry n by n
+    private static double[] fold(double[] coeffs, int common, int length, boolean ramp) {
+        double[] folded = new double[length];
+        int pad = common - coeffs.length;
+        for (int k = 0; k < coeffs.length; k++) {
+            int n = k + pad;
+            folded[n % length] += ramp ? n * coeffs[k] : coeffs[k];
+        }
+        return folded;
+    }
+
+    // Walks the evaluation point along the axis: s = jω for analog, z = e^jω for discrete
+    private class GridWalker {
+        private final double start, step, rotRe, rotIm;
+        double re, im;
+
+        GridWalker(double start, double step) {
+            this.start = start;
+            this.step = step;
+            this.rotRe = Math.cos(step);
+            this.rotIm = Math.sin(step);
+        }
+
+        void advance(int k) {
+            double omega = start + k * step;
+            if (analog) {
+                re = 0;
+                im = omega;
+            } else if (k % RESEED_INTERVAL == 0) {
+                re = Math.cos(omega);
+                im = Math.sin(omega);
+            } else {
+                double t = re * rotRe - im * rotIm;
+                im = re * rotIm + im * rotRe;
+                re = t;
+            }
+        }
+    }
+
+    private void evaluateAt(double omega, double[] h) {
+        if (analog) {
+            evaluatePoint(0, omega, h);
+        } else {
+            evaluatePoint(Math.cos(omega), Math.sin(omega), h);
+        }
+    }
+
+    // h = {Re H, Im H, τ} at x = (xr, xi), which is jω or e^jω; h[3] is scratch for the Horner kernel
+    private void evaluatePoint(double xr, double xi, double[] h) {
+        if (sectionCoefficients != null) {
+            evaluateSections(xr, -xi, h);
+            return;
+        }
+        // P(x) and P'(x) for numerator B and denominator A, using h as the kernel's output
+        Complex.hornerWithDerivative(numerator, xr, xi, h, 0);
+        double br = h[0], bi = h[1], dbr = h[2], dbi = h[3];
+        Complex.hornerWithDerivative(denominator, xr, xi, h, 0);
+        double ar = h[0], ai = h[1], dar = h[2], dai = h[3];
+        double aa = ar * ar + ai * ai;
+        if (aa < EPSILON) {
+            h[0] = 0;
+            h[1] = 0;
+            h[2] = 0;
+            return;
+        }
+        h[0] = (br * ar + bi * ai) / aa;
+        h[1] = (bi * ar - br * ai) / aa;
+        // dP/dω = j P'(s) on s = jω and j z P'(z) on z = e^jω, so τ = Re{q A'/A} - Re{q B'/B}, q = 1 or z
+        double qr = analog ? 1 : xr, qi = analog ? 0 : xi;
+        double tau = logDerivative(qr, qi, dar, dai, ar, ai, aa);
+        double bb = br * br + bi * bi;
+        if (bb > 0) tau -= logDerivative(qr, qi, dbr, dbi, br, bi, bb);
+        h[2] = tau;
+    }
+
+    // Each section is a quadratic in w = z^-1 = e^-jω; with dw/dω = -jw, τ = Σ Re{w B'/B} - Re{w A'/A}
+    private void evaluateSections(double wr, double wi, double[] h) {
+        double w2r = wr * wr - wi * wi, w2i = 2 * wr * wi;
+        double re = 1, im = 0, tau = 0;
+        for (int o = 0; o < sectionCoefficients.length; o += SecondOrderSections.STRIDE) {
+            double b0 = sectionCoefficients[o], b1 = sectionCoefficients[o + 1], b2 = sectionCoefficients[o + 2];
+            double a1 = sectionCoefficients[o + 3], a2 = sectionCoefficients[o + 4];
+            double br = b0 + b1 * wr + b2 * w2r, bi = b1 * wi + b2 * w2i;
+            double ar = 1 + a1 * wr + a2 * w2r, ai = a1 * wi + a2 * w2i;
+            double aa = ar * ar + ai * ai;
+            if (aa < EPSILON) {
+                h[0] = 0;
+                h[1] = 0;
+                h[2] = 0;
+                return;
+            }
+            double qr = (br * ar + bi * ai) / aa;
+            double qi = (bi * ar - br * ai) / aa;
+            double t = re * qr - im * qi;
+            im = re * qi + im * qr;
+            re = t;
+            tau -= logDerivative(wr, wi, a1 + 2 * a2 * wr, 2 * a2 * wi, ar, ai, aa);
+            double bb = br * br + bi * bi;
+            if (bb > 0) tau += logDerivative(wr, wi, b1 + 2 * b2 * wr, 2 * b2 * wi, br, bi, bb);
+        }
+        h[0] = re;
+        h[1] = im;
+        h[2] = tau;
+    }
+
+    // Re{q P'/P} with |P|^2 = pp supplied
+    private static double logDerivative(double qr, double qi, double dr, double di, double pr, double pi, double pp) {
+        double nr = qr * dr - qi * di, ni = qr * di + qi * dr;
+        return (nr * pr + ni * pi) / pp;
+    }
+}
\ No newline at end of file
@@ -5,16 +5,41 @@ import java.awt.*;
 
 public class FrequencyResponsePanel extends JPanel {
     private SymbolicTransferFunction tf;
+    private final SnapshotPublisher<Magnitude> magnitude = new SnapshotPublisher<>(this::repaint);
     private static final int NUM_POINTS = 512;
     private final Font bahnschriftFont = new Font("Bahnschrift", Font.PLAIN, 12);
+    private final PlotLayerCache layer = new PlotLayerCache();
 
     public FrequencyResponsePanel() {
         setPreferredSize(new Dimension(600, 300));
         setBackground(new Color(30, 30, 30));
+        setFont(bahnschriftFont);
     }
 
     public void setTransferFunction(SymbolicTransferFunction tf) {
         this.tf = tf;
+        if (tf == null) {
+            magnitude.set(null);
+        } else {
+            magnitude.submit(() -> new Magnitude(tf));
+        }
+    }
+
+    // Magnitude over [0, π] and its largest finite absolute value, computed once per transfer function
+    private static final class Magnitude {
+        final double[] mag = new double[NUM_POINTS];
+        final double maxMag;
+
+        Magnitude(SymbolicTransferFunction tf) {
+            new FrequencyResponseEvaluator(tf).evaluateGrid(0, Math.PI / (NUM_POINTS - 1), NUM_POINTS, mag, null, null);
+            double max = 0;
+            for (int i = 0; i < NUM_POINTS; i++) {
+                if (!Double.isNaN(mag[i]) && !Double.isInfinite(mag[i])) {
+                    max = Math.max(max, Math.abs(mag[i]));
+                }
+            }
+            maxMag = Math.max(max, 1e-6); // Avoid division by zero
+        }
     }
 
     @Override
@@ -22,28 +47,20 @@ public class FrequencyResponsePanel extends JPanel {
         super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setFont(bahnschriftFont);
         g2.setColor(Color.WHITE);
 
-        if (tf == null) {
-            g2.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
+        Magnitude snapshot = magnitude.get();
+        if (snapshot == null) {
+            String text = tf == null ? "No data to display" : magnitude.statusText();
+            g2.drawString(text, (getWidth() - g2.getFontMetrics().stringWidth(text)) / 2, getHeight() / 2);
             return;
         }
+        layer.paint(g2, this, snapshot, (layerGraphics, w, h) -> paintPlot(layerGraphics, snapshot));
+    }
 
-        // Compute frequency response
-        double[] freq = new double[NUM_POINTS];
-        double[] mag = new double[NUM_POINTS];
-        double maxMag = 0;
-        for (int i = 0; i < NUM_POINTS; i++) {
-            double omega = Math.PI * i / (NUM_POINTS - 1); // 0 to pi
-            freq[i] = omega / Math.PI; // Normalized frequency
-            double[] response = evaluateTransferFunction(omega);
-            mag[i] = 20 * Math.log10(Math.sqrt(response[0] * response[0] + response[1] * response[1]));
-            if (!Double.isNaN(mag[i]) && !Double.isInfinite(mag[i])) {
-                maxMag = Math.max(maxMag, Math.abs(mag[i]));
-            }
-        }
-        maxMag = Math.max(maxMag, 1e-6); // Avoid division by zero
+    private void paintPlot(Graphics2D g2, Magnitude snapshot) {
+        double[] mag = snapshot.mag;
+        double maxMag = snapshot.maxMag;
 
         // Draw axes
         int margin = 50;
@@ -83,32 +100,4 @@ public class FrequencyResponsePanel extends JPanel {
             g2.drawLine(x1, y1, x2, y2);
         }
     }
-
-    private double[] evaluateTransferFunction(double omega) {
-        double[] num = tf.getNumerator();
-        double[] den = tf.getDenominator();
-        double realNum = 0, imagNum = 0, realDen = 0, imagDen = 0;
-
-        // Evaluate numerator
-        for (int i = 0; i < num.length; i++) {
-            double angle = -i * omega;
-            realNum += num[num.length - 1 - i] * Math.cos(angle);
-            imagNum += num[num.length - 1 - i] * Math.sin(angle);
-        }
-
-        // Evaluate denominator
-        for (int i = 0; i < den.length; i++) {
-            double angle = -i * omega;
-            realDen += den[den.length - 1 - i] * Math.cos(angle);
-            imagDen += den[den.length - 1 - i] * Math.sin(angle);
-        }
-
-        // Compute magnitude: (realNum + j*imagNum) / (realDen + j*imagDen)
-        double denom = realDen * realDen + imagDen * imagDen;
-        if (Math.abs(denom) < 1e-10) return new double[]{0, 0};
-        return new double[]{
-                (realNum * realDen + imagNum * imagDen) / denom,
-                (imagNum * realDen - realNum * imagDen) / denom
-        };
-    }
 }
\ No newline at end of file
@@ -5,11 +5,10 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class InvBilinearTransform extends JFrame {
     private final SymbolicTransferFunction discreteTf;
+    private final ZeroPoleGain discreteZpk; // Factored once; re-used on every recompute
     private JTextField samplingPeriodField;
     private JComboBox<Integer> precisionCombo;
     private JTextArea outputArea;
@@ -22,7 +21,15 @@ public class InvBilinearTransform extends JFrame {
     private final Font bahnschriftFont = new Font("Bahnschrift", Font.PLAIN, 14);
 
     public InvBilinearTransform(SymbolicTransferFunction tf, int precision, double T) {
+        this(tf, null, precision, T);
+    }
+
+    /**
+     * @param zpk Factored form of tf when already known (e.g. from filter design); null to factor tf here
+     */
+    public InvBilinearTransform(SymbolicTransferFunction tf, ZeroPoleGain zpk, int precision, double T) {
         this.discreteTf = tf;
+        this.discreteZpk = zpk != null ? zpk : ZeroPoleGain.fromTransferFunction(tf);
         this.precision = precision;
         this.T = T;
         setTitle("Inverse Bilinear Transform");
@@ -127,42 +134,9 @@ public class InvBilinearTransform extends JFrame {
             if (T <= 0) throw new IllegalArgumentException("Sampling period must be positive");
 
             // Perform inverse bilinear transform: z = (2 + sT)/(2 - sT)
-            double[] numZ = discreteTf.getNumerator();
-            double[] denZ = discreteTf.getDenominator();
-            int numDegree = numZ.length - 1;
-            int denDegree = denZ.length - 1;
-
-            // Compute new polynomial degrees
-            int maxDegree = Math.max(numDegree, denDegree);
-            double[] numS = new double[maxDegree + 1];
-            double[] denS = new double[maxDegree + 1];
-
-            // Substitute z = (2 + sT)/(2 - sT)
-            for (int k = 0; k <= numDegree; k++) {
-                double coeff = numZ[numDegree - k];
-                for (int i = 0; i <= k; i++) {
-                    double binom = binomial(k, i);
-                    numS[maxDegree - (k - i)] += coeff * binom * Math.pow(2, k - i) * Math.pow(-2, i) * Math.pow(T, k - 2 * i);
-                }
-            }
-            for (int k = 0; k <= denDegree; k++) {
-                double coeff = denZ[denDegree - k];
-                for (int i = 0; i <= k; i++) {
-                    double binom = binomial(k, i);
-                    denS[maxDegree - (k - i)] += coeff * binom * Math.pow(2, k - i) * Math.pow(-2, i) * Math.pow(T, k - 2 * i);
-                }
-            }
-
-            // Normalize by highest denominator coefficient
-            double leadingDen = denS[0];
-            if (Math.abs(leadingDen) > 1e-10) {
-                for (int i = 0; i <= maxDegree; i++) {
-                    numS[i] /= leadingDen;
-                    denS[i] /= leadingDen;
-                }
-            }
-
-            analogTf = new SymbolicTransferFunction(numS, denS, "s");
+            analogTf = new InverseBilinearTransform(T).apply(discreteTf);
+            double[] numS = analogTf.getNumerator();
+            double[] denS = analogTf.getDenominator();
 
             String format = "%." + precision + "f";
             StringBuilder output = new StringBuilder();
@@ -184,7 +158,6 @@ public class InvBilinearTransform extends JFrame {
             outputArea.setText(output.toString());
 
             freqResponsePanel.setTransferFunction(analogTf);
-            freqResponsePanel.startAnimation();
             freqResponsePanel.repaint();
 
             // Compute and display analog poles and zeros
@@ -201,53 +174,49 @@ public class InvBilinearTransform extends JFrame {
         }
     }
 
+    private static Complex[] toComplex(double[] real, double[] imag) {
+        Complex[] roots = new Complex[real.length];
+        for (int i = 0; i < real.length; i++) {
+            roots[i] = new Complex(real[i], imag[i]);
+        }
+        return roots;
+    }
+
     private void computeAnalogPolesAndZeros() {
         try {
-            double[] numZ = discreteTf.getNumerator();
-            double[] denZ = discreteTf.getDenominator();
-
-            // Find roots of numerator (zeros) and denominator (poles)
-            PolynomialRootFinder.Complex[] digitalZeros = PolynomialRootFinder.findRoots(numZ);
-            PolynomialRootFinder.Complex[] digitalPoles = PolynomialRootFinder.findRoots(denZ);
+            Complex[] digitalZeros = toComplex(discreteZpk.getZerosReal(), discreteZpk.getZerosImag());
+            Complex[] digitalPoles = toComplex(discreteZpk.getPolesReal(), discreteZpk.getPolesImag());
 
             // Apply inverse bilinear transform: s_i = (2/T) * (z_i - 1)/(z_i + 1)
-            ArrayList<PolynomialRootFinder.Complex> analogZeros = new ArrayList<>();
-            ArrayList<PolynomialRootFinder.Complex> analogPoles = new ArrayList<>();
+            ArrayList<Complex> analogZeros = new ArrayList<>();
+            ArrayList<Complex> analogPoles = new ArrayList<>();
             ArrayList<String> analogZeroStrings = new ArrayList<>();
             ArrayList<String> analogPoleStrings = new ArrayList<>();
             ArrayList<String> warningMessages = new ArrayList<>();
-            final double infinityThreshold = 1e-8;
             final double nearMinusOneThreshold = 1e-4;
+            InverseBilinearTransform inverse = new InverseBilinearTransform(T);
 
-            for (PolynomialRootFinder.Complex z : digitalZeros) {
-                PolynomialRootFinder.Complex one = new PolynomialRootFinder.Complex(1.0, 0.0);
-                PolynomialRootFinder.Complex zMinusOne = z.subtract(one);
-                PolynomialRootFinder.Complex zPlusOne = z.add(one);
-                double zPlusOneAbs = zPlusOne.abs();
-                if (zPlusOneAbs < infinityThreshold) {
+            for (Complex z : digitalZeros) {
+                Complex s = inverse.mapRoot(z);
+                if (s == null) {
                     analogZeroStrings.add("infinity");
                 } else {
-                    PolynomialRootFinder.Complex s = zMinusOne.divide(zPlusOne).scale(2.0 / T);
                     analogZeros.add(s);
                     analogZeroStrings.add(formatComplex(s));
-                    if (zPlusOneAbs < nearMinusOneThreshold) {
+                    if (Math.hypot(z.real + 1, z.imag) < nearMinusOneThreshold) {
                         warningMessages.add(String.format("Warning: Digital zero near z = -1 (z = %.4f + j%.4f), maps to large s = %s", z.real, z.imag, formatComplex(s)));
                     }
                 }
             }
 
-            for (PolynomialRootFinder.Complex z : digitalPoles) {
-                PolynomialRootFinder.Complex one = new PolynomialRootFinder.Complex(1.0, 0.0);
-                PolynomialRootFinder.Complex zMinusOne = z.subtract(one);
-                PolynomialRootFinder.Complex zPlusOne = z.add(one);
-                double zPlusOneAbs = zPlusOne.abs();
-                if (zPlusOneAbs < infinityThreshold) {
+            for (Complex z : digitalPoles) {
+                Complex s = inverse.mapRoot(z);
+                if (s == null) {
                     analogPoleStrings.add("infinity");
                 } else {
-                    PolynomialRootFinder.Complex s = zMinusOne.divide(zPlusOne).scale(2.0 / T);
                     analogPoles.add(s);
                     analogPoleStrings.add(formatComplex(s));
-                    if (zPlusOneAbs < nearMinusOneThreshold) {
+                    if (Math.hypot(z.real + 1, z.imag) < nearMinusOneThreshold) {
                         warningMessages.add(String.format("Warning: Digital pole near z = -1 (z = %.4f + j%.4f), maps to large s = %s", z.real, z.imag, formatComplex(s)));
                     }
                 }
@@ -281,7 +250,7 @@ public class InvBilinearTransform extends JFrame {
             poleZeroArea.setText(output.toString());
 
             // Update pole-zero plot
-            poleZeroPlotPanel.setPolesAndZeros(analogPoles, analogPoles, analogZeroStrings, analogPoleStrings);
+            poleZeroPlotPanel.setPolesAndZeros(analogPoles, analogZeros, analogZeroStrings, analogPoleStrings);
             poleZeroPlotPanel.repaint();
 
         } catch (Exception e) {
@@ -289,7 +258,7 @@ public class InvBilinearTransform extends JFrame {
         }
     }
 
-    private String formatComplex(PolynomialRootFinder.Complex c) {
+    private String formatComplex(Complex c) {
         String format = "%." + precision + "f";
         if (Math.abs(c.imag) < 1e-8) {
             return String.format(format, c.real);
@@ -302,96 +271,54 @@ public class InvBilinearTransform extends JFrame {
         }
     }
 
-    private double binomial(int n, int k) {
-        if (k < 0 || k > n) return 0;
-        double result = 1;
-        for (int i = 0; i < k; i++) {
-            result *= (n - i);
-            result /= (i + 1);
-        }
-        return result;
-    }
-
     private class AnalogFrequencyResponsePanel extends JPanel {
         private SymbolicTransferFunction tf;
         private double[] frequencies;
         private double[] magnitude;
         private double[] phase;
+        private double minMag, maxMag;
         private int currentPoint;
-        private Timer timer;
+        private final PlotLayerCache layer = new PlotLayerCache();
         private static final int NUM_POINTS = 100;
         private static final int ANIMATION_DURATION = 50; // ms per point
+        private static final int MARGIN = 60;
+        private static final double MIN_PHASE = -180, MAX_PHASE = 180;
 
         private AnalogFrequencyResponsePanel() {
             super();
             setBackground(new Color(30, 30, 30));
+            setFont(new Font("Bahnschrift", Font.PLAIN, 12));
             currentPoint = 0;
         }
 
         public void setTransferFunction(SymbolicTransferFunction tf) {
             this.tf = tf;
             if (tf != null) {
-                frequencies = new double[NUM_POINTS];
+                double maxOmega = 10.0; // Analog frequency up to 10 rad/s
+                frequencies = FrequencyResponseEvaluator.uniformGrid(0, maxOmega, NUM_POINTS);
                 magnitude = new double[NUM_POINTS];
                 phase = new double[NUM_POINTS];
-                double maxOmega = 10.0; // Analog frequency up to 10 rad/s
-                for (int i = 0; i < NUM_POINTS; i++) {
-                    double omega = i * maxOmega / (NUM_POINTS - 1);
-                    frequencies[i] = omega;
-                    double[] response = computeFrequencyResponse(omega);
-                    magnitude[i] = response[0];
-                    phase[i] = response[1];
-                }
-            }
-            currentPoint = 0;
-            if (timer != null) {
-                timer.cancel();
+                new FrequencyResponseEvaluator(tf).evaluateGrid(0, maxOmega / (NUM_POINTS - 1), NUM_POINTS, magnitude, phase, null);
+                maxMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).max().orElse(0.0) + 10;
+                minMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).min().orElse(-100.0) - 10;
             }
             startAnimation();
         }
 
         private void startAnimation() {
-            timer = new Timer();
-            timer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    if (currentPoint < NUM_POINTS) {
-                        currentPoint++;
-                        repaint();
-                    } else {
-                        timer.cancel();
-                    }
-                }
-            }, 0, ANIMATION_DURATION);
+            currentPoint = 0;
+            repaint();
+            AnimationScheduler.start(this, ANIMATION_DURATION, steps -> {
+                int from = currentPoint;
+                currentPoint = Math.min(NUM_POINTS, currentPoint + steps);
+                int x1 = pointX(Math.max(0, from - 1)) - 2;
+                repaint(x1, 0, pointX(Math.min(currentPoint, NUM_POINTS - 1)) + 2 - x1, getHeight());
+                return currentPoint < NUM_POINTS;
+            });
         }
 
-        private double[] computeFrequencyResponse(double omega) {
-            double[] num = tf.getNumerator();
-            double[] den = tf.getDenominator();
-            double numReal = 0, numImag = 0, denReal = 0, denImag = 0;
-
-            // Evaluate H(s) at s = j*omega
-            for (int i = 0; i < num.length; i++) {
-                double power = Math.pow(omega, i);
-                if (i % 2 == 0) {
-                    numReal += num[num.length - 1 - i] * power;
-                } else {
-                    numImag += num[num.length - 1 - i] * power * (i % 4 == 1 ? 1 : -1);
-                }
-            }
-            for (int i = 0; i < den.length; i++) {
-                double power = Math.pow(omega, i);
-                if (i % 2 == 0) {
-                    denReal += den[den.length - 1 - i] * power;
-                } else {
-                    denImag += den[den.length - 1 - i] * power * (i % 4 == 1 ? 1 : -1);
-                }
-            }
-
-            double mag = Math.sqrt(numReal * numReal + numImag * numImag) /
-                         Math.sqrt(denReal * denReal + denImag * denImag);
-            double phase = Math.atan2(numImag, numReal) - Math.atan2(denImag, denReal);
-            return new double[]{20 * Math.log10(mag), Math.toDegrees(phase)};
+        private int pointX(int i) {
+            return i * (getWidth() - 2 * MARGIN) / (NUM_POINTS - 1) + MARGIN;
         }
 
         @Override
@@ -399,22 +326,54 @@ public class InvBilinearTransform extends JFrame {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(new Font("Bahnschrift", Font.PLAIN, 12));
 
             if (tf == null || frequencies == null || magnitude == null || phase == null) {
                 g2.setColor(Color.WHITE);
                 g2.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
                 return;
             }
+            layer.paint(g2, this, Arrays.asList(magnitude, precision), this::paintAxes);
 
-            int width = getWidth();
             int height = getHeight();
-            int margin = 60;
+            int margin = MARGIN;
+            // Segments outside the repainted columns are already on screen
+            Rectangle clip = g2.getClipBounds();
+            int clipLeft = clip != null ? clip.x - 2 : Integer.MIN_VALUE;
+            int clipRight = clip != null ? clip.x + clip.width + 2 : Integer.MAX_VALUE;
+
+            // Plot magnitude up to currentPoint
+            g2.setColor(new Color(0, 120, 215));
+            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
+                int x1 = pointX(i - 1);
+                int x2 = pointX(i);
+                if (x2 < clipLeft || x1 > clipRight) continue;
+                double mag1 = magnitude[i - 1];
+                double mag2 = magnitude[i];
+                if (!Double.isNaN(mag1) && !Double.isInfinite(mag1) && !Double.isNaN(mag2) && !Double.isInfinite(mag2)) {
+                    int magY1 = height - margin - (int) ((mag1 - minMag) * (height - 2 * margin) / (maxMag - minMag));
+                    int magY2 = height - margin - (int) ((mag2 - minMag) * (height - 2 * margin) / (maxMag - minMag));
+                    g2.drawLine(x1, magY1, x2, magY2);
+                }
+            }
+
+            // Plot phase up to currentPoint
+            g2.setColor(new Color(0, 200, 100));
+            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
+                int x1 = pointX(i - 1);
+                int x2 = pointX(i);
+                if (x2 < clipLeft || x1 > clipRight) continue;
+                double phase1 = phase[i - 1];
+                double phase2 = phase[i];
+                if (!Double.isNaN(phase1) && !Double.isInfinite(phase1) && !Double.isNaN(phase2) && !Double.isInfinite(phase2)) {
+                    int phaseY1 = height / 2 - margin - (int) ((phase1 - MIN_PHASE) * (height / 2 - 2 * margin) / (MAX_PHASE - MIN_PHASE));
+                    int phaseY2 = height / 2 - margin - (int) ((phase2 - MIN_PHASE) * (height / 2 - 2 * margin) / (MAX_PHASE - MIN_PHASE));
+                    g2.drawLine(x1, phaseY1, x2, phaseY2);
+                }
+            }
+        }
 
-            double maxMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).max().orElse(0.0) + 10;
-            double minMag = Arrays.stream(magnitude).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).min().orElse(-100.0) - 10;
-            double maxPhase = 180;
-            double minPhase = -180;
+        private void paintAxes(Graphics2D g2, int width, int height) {
+            int margin = MARGIN;
             double maxFreq = frequencies[NUM_POINTS - 1];
 
             // Determine label format
@@ -444,7 +403,7 @@ public class InvBilinearTransform extends JFrame {
             for (int i = 0; i <= 5; i++) {
                 double freq = i * maxFreq / 5;
                 double mag = minMag + i * (maxMag - minMag) / 5;
-                double phase = minPhase + i * (maxPhase - minPhase) / 5;
+                double phase = MIN_PHASE + i * (MAX_PHASE - MIN_PHASE) / 5;
                 int xPos = margin + i * (width - 2 * margin) / 5;
                 int magPos = height - margin - i * (height - 2 * margin) / 5;
                 int phasePos = height / 2 - margin - i * (height / 2 - 2 * margin) / 5;
@@ -452,53 +411,27 @@ public class InvBilinearTransform extends JFrame {
                 g2.drawString(String.format(magFormat, mag), margin - 50, magPos + 5);
                 g2.drawString(String.format(phaseFormat, phase), margin - 50, phasePos + 5);
             }
-
-            // Plot magnitude up to currentPoint
-            g2.setColor(new Color(0, 120, 215));
-            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
-                double x1 = (i - 1) * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double x2 = i * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double mag1 = magnitude[i - 1];
-                double mag2 = magnitude[i];
-                if (!Double.isNaN(mag1) && !Double.isInfinite(mag1) && !Double.isNaN(mag2) && !Double.isInfinite(mag2)) {
-                    int magY1 = height - margin - (int) ((mag1 - minMag) * (height - 2 * margin) / (maxMag - minMag));
-                    int magY2 = height - margin - (int) ((mag2 - minMag) * (height - 2 * margin) / (maxMag - minMag));
-                    g2.drawLine((int) x1, magY1, (int) x2, magY2);
-                }
-            }
-
-            // Plot phase up to currentPoint
-            g2.setColor(new Color(0, 200, 100));
-            for (int i = 1; i <= currentPoint && i < NUM_POINTS; i++) {
-                double x1 = (i - 1) * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double x2 = i * (width - 2 * margin) / (NUM_POINTS - 1) + margin;
-                double phase1 = phase[i - 1];
-                double phase2 = phase[i];
-                if (!Double.isNaN(phase1) && !Double.isInfinite(phase1) && !Double.isNaN(phase2) && !Double.isInfinite(phase2)) {
-                    int phaseY1 = height / 2 - margin - (int) ((phase1 - minPhase) * (height / 2 - 2 * margin) / (maxPhase - minPhase));
-                    int phaseY2 = height / 2 - margin - (int) ((phase2 - minPhase) * (height / 2 - 2 * margin) / (maxPhase - minPhase));
-                    g2.drawLine((int) x1, phaseY1, (int) x2, phaseY2);
-                }
-            }
         }
     }
 
     private class PoleZeroPlotPanel extends JPanel {
-        private ArrayList<PolynomialRootFinder.Complex> poles;
-        private ArrayList<PolynomialRootFinder.Complex> zeros;
+        private ArrayList<Complex> poles;
+        private ArrayList<Complex> zeros;
         private ArrayList<String> poleStrings;
         private ArrayList<String> zeroStrings;
+        private final PlotLayerCache layer = new PlotLayerCache();
 
         private PoleZeroPlotPanel() {
             super();
             setBackground(new Color(30, 30, 30));
+            setFont(new Font("Bahnschrift", Font.PLAIN, 12));
             poles = new ArrayList<>();
             zeros = new ArrayList<>();
             poleStrings = new ArrayList<>();
             zeroStrings = new ArrayList<>();
         }
 
-        public void setPolesAndZeros(ArrayList<PolynomialRootFinder.Complex> poles, ArrayList<PolynomialRootFinder.Complex> zeros, ArrayList<String> zeroStrings, ArrayList<String> poleStrings) {
+        public void setPolesAndZeros(ArrayList<Complex> poles, ArrayList<Complex> zeros, ArrayList<String> zeroStrings, ArrayList<String> poleStrings) {
             this.poles = poles;
             this.zeros = zeros;
             this.zeroStrings = zeroStrings;
@@ -509,22 +442,21 @@ public class InvBilinearTransform extends JFrame {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(new Font("Bahnschrift", Font.PLAIN, 12));
+            // Nothing here animates, so the whole plot is one cached layer
+            layer.paint(g, this, Arrays.asList(poles, zeros, zeroStrings, poleStrings, precision), this::paintPlot);
+        }
 
-            int width = getWidth();
-            int height = getHeight();
+        private void paintPlot(Graphics2D g2, int width, int height) {
             int margin = 60;
 
             // Determine plot bounds
             double maxReal = 1.0;
             double maxImag = 1.0;
-            for (PolynomialRootFinder.Complex z : zeros) {
+            for (Complex z : zeros) {
                 maxReal = Math.max(maxReal, Math.abs(z.real));
                 maxImag = Math.max(maxImag, Math.abs(z.imag));
             }
-            for (PolynomialRootFinder.Complex p : poles) {
+            for (Complex p : poles) {
                 maxReal = Math.max(maxReal, Math.abs(p.real));
                 maxImag = Math.max(maxImag, Math.abs(p.imag));
             }
@@ -581,13 +513,13 @@ public class InvBilinearTransform extends JFrame {
 
             // Draw poles (x) and zeros (o)
             g2.setColor(Color.BLUE);
-            for (PolynomialRootFinder.Complex z : zeros) {
+            for (Complex z : zeros) {
                 int x = margin + (int) ((z.real - minReal) * (width - 2 * margin) / (maxRealAxis - minReal));
                 int y = height - margin - (int) ((z.imag - minImag) * (height - 2 * margin) / (maxImagAxis - minImag));
                 g2.drawOval(x - 5, y - 5, 10, 10);
             }
             g2.setColor(Color.RED);
-            for (PolynomialRootFinder.Complex p : poles) {
+            for (Complex p : poles) {
                 int x = margin + (int) ((p.real - minReal) * (width - 2 * margin) / (maxRealAxis - minReal));
                 int y = height - margin - (int) ((p.imag - minImag) * (height - 2 * margin) / (maxImagAxis - minImag));
                 g2.drawLine(x - 5, y - 5, x + 5, y + 5);
@@ -0,0 +1,133 @@
+package computation.software.codebase;
+
+public class InverseBilinearTransform {
+    private final double T; // Sampling period
+    private static final double INFINITY_THRESHOLD = 1e-8;
+
+    public InverseBilinearTransform(double T) {
+        if (T <= 0) throw new IllegalArgumentException("Sampling period must be positive");
+        this.T = T;
+    }
+
+    public SymbolicTransferFunction apply(SymbolicTransferFunction discreteTf) {
+        // Inverse bilinear transform: z = (2 + sT)/(2 - sT), cleared over the common denominator (2 - sT)^n
+        double[] numZ = discreteTf.getNumerator();
+        double[] denZ = discreteTf.getDenominator();
+
+        // Resulting polynomial degrees
+        int maxDegree = Math.max(numZ.length, denZ.length) - 1;
+        double[] paddedNum = new double[maxDegree + 1];
+        double[] paddedDen = new double[maxDegree + 1];
+        System.arraycopy(numZ, 0, paddedNum, maxDegree + 1 - numZ.length, numZ.length);
+        System.arraycopy(denZ, 0, paddedDen, maxDegree + 1 - denZ.length, denZ.length);
+
+        BilinearExpansionTable table = BilinearExpansionTable.forOrder(maxDegree);
+        double[] numS = new double[maxDegree + 1];
+        double[] denS = new double[maxDegree + 1];
+        table.inverse(paddedNum, 0, T / 2, numS, 0);
+        table.inverse(paddedDen, 0, T / 2, denS, 0);
+
+        // Normalize by highest denominator coefficient
+        double leadingDen = denS[0];
+        if (Math.abs(leadingDen) > 1e-10) {
+            for (int i = 0; i <= maxDegree; i++) {
+                numS[i] /= leadingDen;
+                denS[i] /= leadingDen;
+            }
+        }
+
+        return new SymbolicTransferFunction(numS, denS, "s");
+    }
+
+    /**
+     * Maps a discrete zero-pole-gain model root by root with s = (2/T)(z - 1)/(z + 1), in O(n).
+     * Each factor (z - b) becomes ((1 + b)T (s - s_b)) / (2 - sT), or 4 / (2 - sT) when b = -1,
+     * so roots at z = -1 move to infinity and any pole surplus leaves zeros at s = 2/T.
+     * @param discreteZpk Discrete model H(z)
+     * @return Analog model H(s)
+     */
+    public ZeroPoleGain apply(ZeroPoleGain discreteZpk) {
+        double[] zr = discreteZpk.getZerosReal();
+        double[] zi = discreteZpk.getZerosImag();
+        double[] pr = discreteZpk.getPolesReal();
+        double[] pi = discreteZpk.getPolesImag();
+        int finiteZeros = countFinite(zr, zi);
+        int finitePoles = countFinite(pr, pi);
+        int excess = pr.length - zr.length; // Power of 1/(2 - sT) left over
+        int zeroCount = finiteZeros + Math.max(excess, 0);
+        int poleCount = finitePoles + Math.max(-excess, 0);
+        double[] azr = new double[zeroCount], azi = new double[zeroCount];
+        double[] apr = new double[poleCount], api = new double[poleCount];
+
+        double gr = discreteZpk.getGain(), gi = 0;
+        int next = 0;
+        for (int k = 0; k < zr.length; k++) {
+            double fr, fi;
+            if (isAtMinusOne(zr[k], zi[k])) {
+                fr = 4;
+                fi = 0;
+            } else {
+                fr = (1 + zr[k]) * T;
+                fi = zi[k] * T;
+                mapRoot(zr[k], zi[k], azr, azi, next++);
+            }
+            double r = gr * fr - gi * fi;
+            gi = gr * fi + gi * fr;
+            gr = r;
+        }
+        next = 0;
+        for (int k = 0; k < pr.length; k++) {
+            double fr, fi;
+            if (isAtMinusOne(pr[k], pi[k])) {
+                fr = 4;
+                fi = 0;
+            } else {
+                fr = (1 + pr[k]) * T;
+                fi = pi[k] * T;
+                mapRoot(pr[k], pi[k], apr, api, next++);
+            }
+            double mag = fr * fr + fi * fi;
+            double r = (gr * fr + gi * fi) / mag;
+            gi = (gi * fr - gr * fi) / mag;
+            gr = r;
+        }
+        // (2 - sT)^excess = (-T)^excess (s - 2/T)^excess
+        gr *= Math.pow(-T, excess);
+        for (int k = finiteZeros; k < zeroCount; k++) azr[k] = 2 / T;
+        for (int k = finitePoles; k < poleCount; k++) apr[k] = 2 / T;
+
+        return new ZeroPoleGain(azr, azi, apr, api, gr, "s");
+    }
+
+    private int countFinite(double[] real, double[] imag) {
+        int count = 0;
+        for (int k = 0; k < real.length; k++) {
+            if (!isAtMinusOne(real[k], imag[k])) count++;
+        }
+        return count;
+    }
+
+    private boolean isAtMinusOne(double re, double im) {
+        return Math.hypot(re + 1, im) < INFINITY_THRESHOLD;
+    }
+
+    // Stores (2/T)(b - 1)/(b + 1) at index k
+    private void mapRoot(double re, double im, double[] outRe, double[] outIm, int k) {
+        double nr = re - 1, dr = re + 1;
+        double mag = dr * dr + im * im;
+        outRe[k] = (2 / T) * (nr * dr + im * im) / mag;
+        outIm[k] = (2 / T) * (im * dr - nr * im) / mag;
+    }
+
+    /**
+     * Maps a digital pole or zero to the s-plane: s = (2/T) * (z - 1)/(z + 1).
+     * @param z Digital root
+     * @return Analog root, or null when z lies on -1 and maps to infinity
+     */
+    public Complex mapRoot(Complex z) {
+        if (isAtMinusOne(z.real, z.imag)) return null;
+        double nr = z.real - 1, dr = z.real + 1, im = z.imag;
+        double mag = dr * dr + im * im;
+        return new Complex((2 / T) * (nr * dr + im * im) / mag, (2 / T) * (im * dr - nr * im) / mag);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package computation.software.codebase;
+
+import java.awt.geom.Path2D;
+
+/**
+ * Reduces a sampled trace to what a plot can actually show: for every pixel column, the minimum
+ * and maximum of the samples falling into it. Min/max is exact for display, so spikes and
+ * oscillations survive however far the trace is decimated, unlike taking every k-th sample.
+ * <p>
+ * Construction builds a pyramid of block minima and maxima (blocks of FAN_OUT, FAN_OUT², ...
+ * samples) in O(N) time and about N/3.5 extra doubles. A column is then answered from whole blocks
+ * of the coarsest fitting level plus at most FAN_OUT entries at each end per level, so the cost of
+ * a view depends on the number of columns rather than on how many samples it spans; zooming and
+ * panning over million-sample traces stays interactive. NaN and infinite samples are left out of
+ * the envelope and break the drawn trace.
+ */
+public final class MinMaxDecimator {
+    private static final int FAN_OUT = 8;
+
+    private final double[] samples;
+    // levelMin[k][j] and levelMax[k][j] cover samples [j * FAN_OUT^(k+1), (j + 1) * FAN_OUT^(k+1));
+    // a block without finite samples holds +inf / -inf
+    private final double[][] levelMin;
+    private final double[][] levelMax;
+
+    /**
+     * @param samples The trace, not copied and not to be modified afterwards
+     */
+    public MinMaxDecimator(double[] samples) {
+        if (samples == null) throw new IllegalArgumentException("Samples must not be null");
+        this.samples = samples;
+        int levels = 0;
+        for (long n = samples.length; n > 1; n = (n + FAN_OUT - 1) / FAN_OUT) levels++;
+        levelMin = new double[levels][];
+        levelMax = new double[levels][];
+        for (int k = 0; k < levels; k++) {
+            int count = ((k == 0 ? samples.length : levelMin[k - 1].length) + FAN_OUT - 1) / FAN_OUT;
+            double[] min = new double[count];
+            double[] max = new double[count];
+            for (int j = 0; j < count; j++) {
+                double lo = Double.POSITIVE_INFINITY;
+                double hi = Double.NEGATIVE_INFINITY;
+                if (k == 0) {
+                    int end = Math.min(samples.length, (j + 1) * FAN_OUT);
+                    for (int i = j * FAN_OUT; i < end; i++) {
+                        double v = samples[i];
+                        if (v < lo && v != Double.NEGATIVE_INFINITY) lo = v; // NaN fails both comparisons
+                        if (v > hi && v != Double.POSITIVE_INFINITY) hi = v;
+                    }
+                } else {
+                    double[] belowMin = levelMin[k - 1];
+                    double[] belowMax = levelMax[k - 1];
+                    int end = Math.min(belowMin.length, (j + 1) * FAN_OUT);
+                    for (int i = j * FAN_OUT; i < end; i++) {
+                        lo = Math.min(lo, belowMin[i]);
+                        hi = Math.max(hi, belowMax[i]);
+                    }
+                }
+                min[j] = lo;
+                max[j] = hi;
+            }
+            levelMin[k] = min;
+            levelMax[k] = max;
+        }
+    }
+
+    public int length() {
+        return samples.length;
+    }
+
+    /**
+     * Smallest finite sample, or NaN if there is none.
+     */
+    public double min() {
+        double[] range = new double[2];
+        return minMax(0, samples.length - 1, range) ? range[0] : Double.NaN;
+    }
+
+    /**
+     * Largest finite sample, or NaN if there is none.
+     */
+    public double max() {
+        double[] range = new double[2];
+        return minMax(0, samples.length - 1, range) ? range[1] : Double.NaN;
+    }
+
+    /**
+     * Exact minimum and maximum of the finite samples in [from, to].
+     * @param out Receives min at index 0 and max at index 1
+     * @return false if the range holds no finite sample
+     */
+    public boolean minMax(int from, int to, double[] out) {
+        int lo = Math.max(0, from);
+        int hi = Math.min(samples.length - 1, to) + 1; // Exclusive, in units of the current level
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int level = -1; lo < hi; level++) {
+            int up = (lo + FAN_OUT - 1) / FAN_OUT * FAN_OUT;
+            int down = hi / FAN_OUT * FAN_OUT;
+            boolean last = up >= down || level + 1 >= levelMin.length;
+            // The ragged ends at this level; everything between them moves up a level
+            int headEnd = last ? hi : up;
+            int tailStart = last ? hi : down;
+            for (int pass = 0; pass < 2; pass++) {
+                int start = pass == 0 ? lo : tailStart;
+                int end = pass == 0 ? headEnd : hi;
+                if (level < 0) {
+                    for (int i = start; i < end; i++) {
+                        double v = samples[i];
+                        if (v < min && v != Double.NEGATIVE_INFINITY) min = v;
+                        if (v > max && v != Double.POSITIVE_INFINITY) max = v;
+                    }
+                } else {
+                    for (int i = start; i < end; i++) {
+                        min = Math.min(min, levelMin[level][i]);
+                        max = Math.max(max, levelMax[level][i]);
+                    }
+                }
+            }
+            if (last) break;
+            lo = up / FAN_OUT;
+            hi = down / FAN_OUT;
+        }
+        if (min > max) return false;
+        out[0] = min;
+        out[1] = max;
+        return true;
+    }
+
+    /**
+     * Fills the envelope of samples [from, to] split into min.length equal pixel columns. Column c
+     * covers samples from + c * span / columns up to and including the first sample of column
+     * c + 1, so adjacent columns share an endpoint and the trace has no gaps between them.
+     * Columns without a finite sample get NaN.
+     */
+    public void envelope(double from, double to, double[] min, double[] max) {
+        if (min.length != max.length) throw new IllegalArgumentException("Envelope arrays must have the same length");
+        int columns = min.length;
+        double perColumn = (to - from) / columns;
+        double[] range = new double[2];
+        for (int c = 0; c < columns; c++) {
+            int start = (int) Math.floor(from + c * perColumn);
+            int end = (int) Math.ceil(from + (c + 1) * perColumn);
+            if (minMax(start, end, range)) {
+                min[c] = range[0];
+                max[c] = range[1];
+            } else {
+                min[c] = Double.NaN;
+                max[c] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * The trace over samples [from, to] as a single path, mapping from to x = left, to to
+     * x = left + width, minVal to y = bottom and maxVal to y = top. Where a pixel holds fewer than
+     * two samples the samples are joined directly; otherwise each pixel column is a vertical
+     * stroke across its envelope.
+     */
+    public Path2D.Double path(double from, double to, double left, double width, double bottom, double top,
+                              double minVal, double maxVal) {
+        Path2D.Double path = new Path2D.Double();
+        int first = Math.max(0, (int) Math.floor(from));
+        int last = Math.min(samples.length - 1, (int) Math.ceil(to));
+        if (first > last || width <= 0 || to <= from) return path;
+        double xScale = width / (to - from);
+        double yScale = (top - bottom) / (maxVal - minVal);
+        boolean penDown = false;
+        if ((last - first) < 2 * width) {
+            for (int i = first; i <= last; i++) {
+                double v = samples[i];
+                if (Double.isNaN(v) || Double.isInfinite(v)) {
+                    penDown = false;
+                    continue;
+                }
+                double x = left + (i - from) * xScale;
+                double y = bottom + (v - minVal) * yScale;
+                if (penDown) {
+                    path.lineTo(x, y);
+                } else {
+                    path.moveTo(x, y);
+                    penDown = true;
+                }
+            }
+            return path;
+        }
+        int columns = (int) Math.ceil(width);
+        double[] min = new double[columns];
+        double[] max = new double[columns];
+        envelope(from, from + columns / xScale, min, max);
+        for (int c = 0; c < columns; c++) {
+            if (Double.isNaN(min[c])) {
+                penDown = false;
+                continue;
+            }
+            double x = left + c + 0.5;
+            double yMin = bottom + (min[c] - minVal) * yScale;
+            double yMax = bottom + (max[c] - minVal) * yScale;
+            if (penDown) {
+                path.lineTo(x, yMin);
+            } else {
+                path.moveTo(x, yMin);
+                penDown = true;
+            }
+            path.lineTo(x, yMax);
+        }
+        return path;
+    }
+}
\ No newline at end of file
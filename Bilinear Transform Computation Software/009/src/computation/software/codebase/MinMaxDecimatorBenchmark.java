@@ -0,0 +1,62 @@
+package computation.software.codebase;
+
+import java.util.Random;
+
+/**
+ * Checks MinMaxDecimator.minMax against a linear scan on random traces and ranges, including NaN
+ * and infinite samples, then times building and drawing a 10M-sample trace.
+ */
+final class MinMaxDecimatorBenchmark {
+    private MinMaxDecimatorBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(24);
+        int ranges = 0, mismatches = 0;
+        double[] out = new double[2];
+        for (int trial = 0; trial < 300; trial++) {
+            int n = random.nextInt(5000);
+            double[] samples = new double[n];
+            for (int i = 0; i < n; i++) {
+                int kind = random.nextInt(50);
+                samples[i] = kind == 0 ? Double.NaN : kind == 1 ? Double.POSITIVE_INFINITY
+                        : kind == 2 ? Double.NEGATIVE_INFINITY : random.nextGaussian();
+            }
+            MinMaxDecimator decimator = new MinMaxDecimator(samples);
+            for (int k = 0; k < 200; k++) {
+                int from = random.nextInt(n + 2) - 1;
+                int to = random.nextInt(n + 2) - 1;
+                double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+                for (int i = Math.max(0, from); i <= Math.min(n - 1, to); i++) {
+                    if (Double.isNaN(samples[i]) || Double.isInfinite(samples[i])) continue;
+                    lo = Math.min(lo, samples[i]);
+                    hi = Math.max(hi, samples[i]);
+                }
+                boolean found = decimator.minMax(from, to, out);
+                if (found != (lo <= hi) || (found && (out[0] != lo || out[1] != hi))) mismatches++;
+                ranges++;
+            }
+        }
+        System.out.printf("minMax against a linear scan: %d ranges, %d mismatches%n", ranges, mismatches);
+        if (mismatches > 0) throw new IllegalStateException("minMax check failed");
+
+        double[] trace = new double[10_000_000];
+        for (int i = 0; i < trace.length; i++) trace[i] = Math.sin(i * 1e-4) + (i == 7_654_321 ? 5 : 0);
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            MinMaxDecimator decimator = new MinMaxDecimator(trace);
+            long build = System.nanoTime() - start;
+            double[] min = new double[1000], max = new double[1000];
+            start = System.nanoTime();
+            for (int k = 0; k < 100; k++) decimator.envelope(k * 1000, trace.length - 1 - k * 1000, min, max);
+            long envelope = (System.nanoTime() - start) / 100;
+            start = System.nanoTime();
+            for (int k = 0; k < 100; k++) decimator.path(k * 1000.0, trace.length - 1.0, 80, 900, 500, 80, -1, 6);
+            long path = (System.nanoTime() - start) / 100;
+            double peak = Double.NEGATIVE_INFINITY;
+            for (double v : max) peak = Math.max(peak, v);
+            System.out.printf("10M samples: build %.1f ms, 1000-column envelope %.3f ms, path %.3f ms, spike kept: %b%n",
+                    build / 1e6, envelope / 1e6, path / 1e6, peak == decimator.max());
+        }
+    }
+}
\ No newline at end of file
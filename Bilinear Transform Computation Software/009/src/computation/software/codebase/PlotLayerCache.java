@@ -0,0 +1,86 @@
+package computation.software.codebase;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+/**
+ * The static part of a plot (background, grid, axes, tick labels, unit circle) rendered once into
+ * an offscreen image, so that a repaint, and in particular each animation frame, only copies it and
+ * draws what actually changed on top. The image matches the pixel density of the screen it is shown
+ * on and is rendered again when the component is resized, the content key changes or the layer is
+ * invalidated.
+ */
+public final class PlotLayerCache {
+    /**
+     * Draws the layer in component coordinates onto a surface already filled with the background.
+     */
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private BufferedImage image;
+    private int width, height;
+    private double scaleX, scaleY;
+    private Object key;
+
+    public void invalidate() {
+        image = null;
+        key = null;
+    }
+
+    /**
+     * Copies the layer of owner onto g, rendering it first unless the cached one was drawn for the
+     * same size, device scale and an equal key.
+     * @param key Identifies everything the painter draws apart from the size, e.g. the data snapshot
+     */
+    public void paint(Graphics g, JComponent owner, Object key, Painter painter) {
+        int w = owner.getWidth();
+        int h = owner.getHeight();
+        if (w <= 0 || h <= 0) return;
+        Graphics2D g2 = (Graphics2D) g;
+        AffineTransform transform = g2.getTransform();
+        double sx = transform.getScaleX();
+        double sy = transform.getScaleY();
+        if (image == null || w != width || h != height || sx != scaleX || sy != scaleY || !Objects.equals(key, this.key)) {
+            render(owner, w, h, sx, sy, painter);
+            this.key = key;
+        }
+        // Device-sized image drawn at component size, so it lands pixel for pixel
+        g2.drawImage(image, 0, 0, w, h, null);
+    }
+
+    private void render(JComponent owner, int w, int h, double sx, double sy, Painter painter) {
+        int pixelWidth = Math.max(1, (int) Math.ceil(w * sx));
+        int pixelHeight = Math.max(1, (int) Math.ceil(h * sy));
+        if (image == null || image.getWidth() != pixelWidth || image.getHeight() != pixelHeight) {
+            GraphicsConfiguration config = owner.getGraphicsConfiguration();
+            image = config != null
+                    ? config.createCompatibleImage(pixelWidth, pixelHeight, Transparency.OPAQUE)
+                    : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D ig = image.createGraphics();
+        try {
+            ig.scale(sx, sy);
+            Color background = owner.getBackground();
+            ig.setColor(background != null ? background : Color.BLACK);
+            ig.fillRect(0, 0, w, h);
+            ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            ig.setFont(owner.getFont());
+            painter.paint(ig, w, h);
+        } finally {
+            ig.dispose();
+        }
+        width = w;
+        height = h;
+        scaleX = sx;
+        scaleY = sy;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package computation.software.codebase;
+
+/**
+ * Hit-testing for markers drawn at fixed screen positions, such as poles and zeros on a plot.
+ * Points are bucketed into a uniform grid of cells twice the hit radius wide, so a query looks at
+ * no more than four cells and only at the few points in them, whatever the number of points. Build
+ * one per set of positions; it is cheap to rebuild when the plot is resized.
+ */
+public final class PoleZeroHitIndex {
+    private final int[] x, y;
+    private final int radius;
+    private final int cellSize;
+    private final int columns, rows;
+    // Points of cell c are ids[cellStart[c] .. cellStart[c + 1]), in ascending order
+    private final int[] cellStart;
+    private final int[] ids;
+
+    /**
+     * @param x Screen x of each point; the id of a point is its index
+     * @param width Width of the area the points are drawn in; points outside it are still found
+     * @param radius A point is hit when the query lies strictly within radius of it on both axes
+     */
+    public PoleZeroHitIndex(int[] x, int[] y, int width, int height, int radius) {
+        if (x == null || y == null || x.length != y.length) throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        if (radius <= 0) throw new IllegalArgumentException("Hit radius must be positive");
+        this.x = x.clone();
+        this.y = y.clone();
+        this.radius = radius;
+        this.cellSize = 2 * radius;
+        this.columns = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+
+        // Counting sort by cell, which keeps ids ascending within each cell
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < x.length; i++) cellStart[cellOf(x[i], y[i]) + 1]++;
+        for (int c = 0; c < columns * rows; c++) cellStart[c + 1] += cellStart[c];
+        ids = new int[x.length];
+        int[] fill = cellStart.clone();
+        for (int i = 0; i < x.length; i++) ids[fill[cellOf(x[i], y[i])]++] = i;
+    }
+
+    /**
+     * The lowest id among the points hit at (px, py), or -1 if there is none.
+     */
+    public int find(int px, int py) {
+        int best = -1;
+        int firstColumn = column(px - radius + 1), lastColumn = column(px + radius - 1);
+        int firstRow = row(py - radius + 1), lastRow = row(py + radius - 1);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int id = ids[k];
+                    if (best >= 0 && id > best) break; // Ascending within the cell
+                    if (Math.abs(px - x[id]) < radius && Math.abs(py - y[id]) < radius) {
+                        best = id;
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Off-area points go to the border cells; queries clamp the same way, so none are missed
+    private int column(int px) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(px, cellSize)));
+    }
+
+    private int row(int py) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(py, cellSize)));
+    }
+
+    private int cellOf(int px, int py) {
+        return row(py) * columns + column(px);
+    }
+}
\ No newline at end of file
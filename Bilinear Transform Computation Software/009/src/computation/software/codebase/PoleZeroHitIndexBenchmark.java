@@ -0,0 +1,73 @@
+package computation.software.codebase;
+
+import java.util.Random;
+
+/**
+ * Checks PoleZeroHitIndex.find against the linear scan it replaced on random plots, including
+ * points and queries outside the plot area and coincident points, then times both.
+ */
+final class PoleZeroHitIndexBenchmark {
+    private static final int RADIUS = 10;
+
+    private PoleZeroHitIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(25);
+        int queries = 0, mismatches = 0;
+        for (int plot = 0; plot < 500; plot++) {
+            int n = random.nextInt(200);
+            int width = 50 + random.nextInt(800), height = 50 + random.nextInt(800);
+            int[] x = new int[n], y = new int[n];
+            randomPoints(random, x, y, width, height);
+            PoleZeroHitIndex index = new PoleZeroHitIndex(x, y, width, height, RADIUS);
+            for (int k = 0; k < 2000; k++) {
+                int px = random.nextInt(width + 60) - 30, py = random.nextInt(height + 60) - 30;
+                if (index.find(px, py) != scan(x, y, px, py)) mismatches++;
+                queries++;
+            }
+        }
+        System.out.printf("find against a linear scan: %d queries, %d mismatches%n", queries, mismatches);
+        if (mismatches > 0) throw new IllegalStateException("find check failed");
+
+        int width = 800, height = 600;
+        for (int n : new int[]{100, 1000, 10000}) {
+            int[] x = new int[n], y = new int[n];
+            randomPoints(random, x, y, width, height);
+            PoleZeroHitIndex index = new PoleZeroHitIndex(x, y, width, height, RADIUS);
+            int[] px = new int[100_000], py = new int[px.length];
+            for (int k = 0; k < px.length; k++) {
+                px[k] = random.nextInt(width);
+                py[k] = random.nextInt(height);
+            }
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (int k = 0; k < px.length; k++) checksum += scan(x, y, px[k], py[k]);
+            long scanTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int k = 0; k < px.length; k++) checksum -= index.find(px[k], py[k]);
+            long findTime = System.nanoTime() - start;
+            System.out.printf("%d points: scan %.1f ns/query, index %.1f ns/query (checksum %s)%n",
+                    n, (double) scanTime / px.length, (double) findTime / px.length, checksum == 0 ? "ok" : "differs");
+        }
+    }
+
+    private static void randomPoints(Random random, int[] x, int[] y, int width, int height) {
+        for (int i = 0; i < x.length; i++) {
+            if (i > 0 && random.nextInt(5) == 0) {
+                x[i] = x[i - 1];
+                y[i] = y[i - 1];
+            } else {
+                x[i] = random.nextInt(width + 100) - 50;
+                y[i] = random.nextInt(height + 100) - 50;
+            }
+        }
+    }
+
+    private static int scan(int[] x, int[] y, int px, int py) {
+        for (int i = 0; i < x.length; i++) {
+            if (Math.abs(px - x[i]) < RADIUS && Math.abs(py - y[i]) < RADIUS) return i;
+        }
+        return -1;
+    }
+}
\ No newline at end of file
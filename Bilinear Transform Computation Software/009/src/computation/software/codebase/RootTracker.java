@@ -0,0 +1,102 @@
+package computation.software.codebase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follows the roots of a sequence of polynomials whose coefficients change a little from step to
+ * step, as in a sweep over T or the cutoff. Each step refines the previous step's roots with a few
+ * Aberth sweeps and only solves from scratch when that does not converge. Roots are kept in
+ * trajectory order: root i of every step continues root i of the step before, so the steps read
+ * directly as root loci.
+ */
+public class RootTracker {
+    public static final int WARM_ITERATIONS = 10;
+
+    private final List<ComplexArray> steps = new ArrayList<>();
+    private int coldSolves;
+
+    /**
+     * Roots the next polynomial of the sweep. A change of degree (e.g. an order sweep) cannot be
+     * continued root by root, so it starts a new set of trajectories.
+     * @param coeffs Polynomial coefficients in descending powers; the leading one must be nonzero
+     * @return The roots, ordered to match the previous step
+     */
+    public ComplexArray track(double[] coeffs) {
+        if (coeffs == null || coeffs.length < 2) {
+            throw new IllegalArgumentException("Polynomial must have degree at least 1");
+        }
+        ComplexArray previous = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+        if (previous != null && previous.length() != coeffs.length - 1) {
+            steps.clear();
+            previous = null;
+        }
+
+        ComplexArray roots = null;
+        if (previous != null) {
+            AberthRootFinder.Result warm = AberthRootFinder.refine(coeffs, previous, WARM_ITERATIONS);
+            if (warm.isConverged()) roots = warm.getRoots();
+        }
+        if (roots == null) {
+            roots = AberthRootFinder.solve(coeffs).getRoots();
+            coldSolves++;
+            if (previous != null) roots = matchTo(previous, roots);
+        }
+        steps.add(roots);
+        return roots;
+    }
+
+    // Reorders a cold solve so that each previous root is continued by the nearest unclaimed new one
+    private static ComplexArray matchTo(ComplexArray previous, ComplexArray roots) {
+        int n = roots.length();
+        boolean[] taken = new boolean[n];
+        ComplexArray matched = new ComplexArray(n);
+        for (int i = 0; i < n; i++) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int j = 0; j < n; j++) {
+                if (taken[j]) continue;
+                double distance = Math.hypot(roots.getReal(j) - previous.getReal(i), roots.getImag(j) - previous.getImag(i));
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = j;
+                }
+            }
+            taken[best] = true;
+            matched.set(i, roots.getReal(best), roots.getImag(best));
+        }
+        return matched;
+    }
+
+    public int getStepCount() {
+        return steps.size();
+    }
+
+    public ComplexArray getStep(int step) {
+        return steps.get(step);
+    }
+
+    /**
+     * Positions of root i at every step since the trajectories last started.
+     */
+    public ComplexArray getTrajectory(int root) {
+        ComplexArray trajectory = new ComplexArray(steps.size());
+        for (int k = 0; k < steps.size(); k++) {
+            ComplexArray step = steps.get(k);
+            trajectory.set(k, step.getReal(root), step.getImag(root));
+        }
+        return trajectory;
+    }
+
+    /**
+     * Number of steps so far that needed a full solve, including each first step.
+     */
+    public int getColdSolveCount() {
+        return coldSolves;
+    }
+
+    public void reset() {
+        steps.clear();
+        coldSolves = 0;
+    }
+}
\ No newline at end of file
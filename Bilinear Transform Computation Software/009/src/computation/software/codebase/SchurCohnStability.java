@@ -0,0 +1,62 @@
+package computation.software.codebase;
+
+/**
+ * Root-free stability test for discrete denominators A(z) = a_0 z^n + a_1 z^(n-1) + ... + a_n.
+ * The Schur–Cohn step-down recursion peels off one reflection coefficient k_m per degree,
+ * A_(m-1)(z) = (A_m(z) - k_m z^m A_m(1/z)) / (z (1 - k_m^2)), and every pole lies strictly inside
+ * the unit circle exactly when every |k_m| < 1. That is O(n^2) flops with no roots computed.
+ * The recursion runs in a workspace kept by the instance, so screening many coefficient sets
+ * allocates nothing after the first; an instance is therefore not thread-safe.
+ */
+public class SchurCohnStability {
+    private double[] work = new double[0];
+
+    /**
+     * Returns min(1 - |k_m|) over the reflection coefficients: positive when every pole is inside
+     * the unit circle, zero or negative otherwise. A polynomial with no poles has margin 1. Only its
+     * sign matches that of the pole radius margin in {@link ZeroPoleGain#stabilityMargin()}.
+     * @param coeffs Denominator coefficients in descending powers of z; the leading one must be nonzero
+     */
+    public double reflectionMargin(double[] coeffs) {
+        if (coeffs == null) throw new IllegalArgumentException("Coefficients must not be null");
+        return reflectionMargin(coeffs, 0, coeffs.length);
+    }
+
+    /**
+     * Same as {@link #reflectionMargin(double[])} for the length coefficients starting at offset, so packed
+     * candidate sets can be screened in place.
+     */
+    public double reflectionMargin(double[] coeffs, int offset, int length) {
+        if (offset < 0 || length < 1 || offset + length > coeffs.length) {
+            throw new IllegalArgumentException("Coefficient range [" + offset + ", " + (offset + length) + ") is out of bounds");
+        }
+        double lead = coeffs[offset];
+        if (lead == 0) throw new IllegalArgumentException("Leading coefficient cannot be zero");
+        int n = length - 1;
+        if (n == 0) return 1;
+
+        if (work.length < length) work = new double[length];
+        double[] a = work;
+        for (int i = 0; i <= n; i++) a[i] = coeffs[offset + i] / lead;
+
+        double margin = 1;
+        for (int m = n; m >= 1; m--) {
+            double k = a[m];
+            double slack = 1 - Math.abs(k);
+            if (!(slack > 0)) return Double.isNaN(slack) ? Double.NaN : slack; // A root on or outside the circle
+            margin = Math.min(margin, slack);
+            // a_i <- (a_i - k a_(m-i)) / (1 - k^2), updating mirrored pairs together
+            double scale = 1 / ((1 - k) * (1 + k));
+            for (int i = 1, j = m - 1; i <= j; i++, j--) {
+                double ai = a[i], aj = a[j];
+                a[i] = (ai - k * aj) * scale;
+                if (i != j) a[j] = (aj - k * ai) * scale;
+            }
+        }
+        return margin;
+    }
+
+    public boolean isStable(double[] coeffs) {
+        return reflectionMargin(coeffs) > 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package computation.software.codebase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Discrete filter realized as a cascade of second-order sections (biquads).
+ * Section i is H_i(z) = (b0 + b1 z^-1 + b2 z^-2) / (1 + a1 z^-1 + a2 z^-2), stored as five
+ * consecutive coefficients {b0, b1, b2, a1, a2}; a first-order section has a2 = 0.
+ */
+public class SecondOrderSections {
+    public static final int STRIDE = 5;
+    private static final double EPSILON = 1e-8; // Roots with |imag| below this are treated as real
+    private static final int SCALING_POINTS = 64;
+
+    private final double[] coefficients;
+    private final int sectionCount;
+
+    public SecondOrderSections(double[] coefficients) {
+        if (coefficients == null || coefficients.length == 0 || coefficients.length % STRIDE != 0) {
+            throw new IllegalArgumentException("Coefficients must hold a whole number of sections of " + STRIDE);
+        }
+        this.coefficients = coefficients.clone();
+        this.sectionCount = coefficients.length / STRIDE;
+    }
+
+    public static SecondOrderSections fromTransferFunction(SymbolicTransferFunction tf) {
+        if (tf == null) throw new IllegalArgumentException("Transfer function must not be null");
+        return fromZpk(ZeroPoleGain.fromTransferFunction(tf));
+    }
+
+    /**
+     * Builds the cascade from discrete poles and zeros. Poles are grouped into conjugate or real
+     * pairs; each group, starting from the one nearest the unit circle, takes the nearest unused
+     * zeros. Sections are ordered with the poles nearest the unit circle last, and every section
+     * but the last is scaled to unit peak gain on [0, π]; the last one carries the overall gain.
+     */
+    public static SecondOrderSections fromZpk(ZeroPoleGain zpk) {
+        if (zpk == null) throw new IllegalArgumentException("Zero-pole-gain form must not be null");
+        if (!zpk.getVariable().equals("z")) {
+            throw new IllegalArgumentException("Second-order sections require a discrete (z) transfer function");
+        }
+        if (zpk.getZeroCount() > zpk.getPoleCount()) {
+            throw new IllegalArgumentException("Numerator degree must not exceed denominator degree");
+        }
+        if (zpk.getPoleCount() == 0) {
+            return new SecondOrderSections(new double[]{zpk.getGain(), 0, 0, 0, 0});
+        }
+
+        List<RootGroup> poleGroups = groupPoles(zpk.getPolesReal(), zpk.getPolesImag());
+        List<RootGroup> zeroCandidates = zeroCandidates(zpk.getZerosReal(), zpk.getZerosImag());
+
+        // The single first-order group (odd order) is served first so it can claim a real zero
+        // before the pairs use them up; the rest go from the unit circle inwards.
+        poleGroups.sort(Comparator.comparingInt((RootGroup g) -> g.size).thenComparing(g -> -g.radius()));
+
+        List<double[]> sections = new ArrayList<>();
+        boolean[] used = new boolean[zeroCandidates.size()];
+        for (RootGroup poles : poleGroups) {
+            double[] section = new double[STRIDE + 1]; // Trailing slot keeps the pole radius for ordering
+            section[3] = poles.size == 2 ? -(poles.re1 + poles.re2) : -poles.re1;
+            section[4] = poles.size == 2 ? poles.re1 * poles.re2 - poles.im1 * poles.im2 : 0;
+            section[5] = poles.radius();
+
+            double[] zeros = new double[]{1, 0, 0};
+            int zeroCount = 0;
+            int nearest = nearestZero(zeroCandidates, used, poles, poles.size == 2, -1);
+            if (nearest >= 0) {
+                RootGroup first = zeroCandidates.get(nearest);
+                used[nearest] = true;
+                if (first.size == 2) {
+                    zeros[1] = -2 * first.re1;
+                    zeros[2] = first.re1 * first.re1 + first.im1 * first.im1;
+                    zeroCount = 2;
+                } else {
+                    zeros[1] = -first.re1;
+                    zeroCount = 1;
+                    int second = poles.size == 2 ? nearestZero(zeroCandidates, used, poles, false, nearest) : -1;
+                    if (second >= 0) {
+                        used[second] = true;
+                        double re2 = zeroCandidates.get(second).re1;
+                        zeros[2] = first.re1 * re2;
+                        zeros[1] -= re2;
+                        zeroCount = 2;
+                    }
+                }
+            }
+            // Missing zeros become pure delays so that the cascade keeps the original latency
+            int delay = poles.size - zeroCount;
+            for (int k = 0; k <= zeroCount; k++) {
+                section[k + delay] = zeros[k];
+            }
+            sections.add(section);
+        }
+
+        sections.sort(Comparator.comparingDouble(s -> s[5]));
+        double[] packed = new double[sections.size() * STRIDE];
+        for (int i = 0; i < sections.size(); i++) {
+            System.arraycopy(sections.get(i), 0, packed, i * STRIDE, STRIDE);
+        }
+        distributeGain(packed, zpk.getGain());
+        return new SecondOrderSections(packed);
+    }
+
+    public int getSectionCount() {
+        return sectionCount;
+    }
+
+    /**
+     * Returns the packed coefficients, {b0, b1, b2, a1, a2} per section.
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Filters x from zero initial state; see {@link StreamingFilter} for block-wise processing.
+     * @param x Input sequence
+     * @return Output sequence of the same length
+     */
+    public double[] filter(double[] x) {
+        double[] y = new double[x.length];
+        new StreamingFilter(this).process(x, y, 0, x.length);
+        return y;
+    }
+
+    /**
+     * Evaluates the cascade at z = e^jω.
+     * @return {Re H, Im H}, or {0, 0} when a section's denominator vanishes
+     */
+    public double[] evaluate(double omega) {
+        double[] h = {1, 0};
+        evaluateInto(coefficients, 0, sectionCount, omega, h);
+        return h;
+    }
+
+    // Multiplies h by the response of count sections starting at offset
+    private static void evaluateInto(double[] c, int offset, int count, double omega, double[] h) {
+        double c1 = Math.cos(omega), s1 = -Math.sin(omega); // z^-1
+        double c2 = c1 * c1 - s1 * s1, s2 = 2 * c1 * s1;     // z^-2
+        double re = h[0], im = h[1];
+        for (int s = 0; s < count; s++) {
+            int o = offset + s * STRIDE;
+            double nr = c[o] + c[o + 1] * c1 + c[o + 2] * c2;
+            double ni = c[o + 1] * s1 + c[o + 2] * s2;
+            double dr = 1 + c[o + 3] * c1 + c[o + 4] * c2;
+            double di = c[o + 3] * s1 + c[o + 4] * s2;
+            double denom = dr * dr + di * di;
+            if (denom < 1e-20) {
+                h[0] = 0;
+                h[1] = 0;
+                return;
+            }
+            double qr = (nr * dr + ni * di) / denom;
+            double qi = (ni * dr - nr * di) / denom;
+            double r = re * qr - im * qi;
+            im = re * qi + im * qr;
+            re = r;
+        }
+        h[0] = re;
+        h[1] = im;
+    }
+
+    private static void distributeGain(double[] packed, double gain) {
+        int count = packed.length / STRIDE;
+        double[] h = new double[2];
+        for (int s = 0; s < count - 1; s++) {
+            int o = s * STRIDE;
+            double peak = 0;
+            for (int i = 0; i < SCALING_POINTS; i++) {
+                h[0] = 1;
+                h[1] = 0;
+                evaluateInto(packed, o, 1, i * Math.PI / (SCALING_POINTS - 1), h);
+                peak = Math.max(peak, Math.hypot(h[0], h[1]));
+            }
+            if (peak < EPSILON || Double.isInfinite(peak)) continue;
+            for (int k = 0; k < 3; k++) packed[o + k] /= peak;
+            gain *= peak;
+        }
+        int last = (count - 1) * STRIDE;
+        for (int k = 0; k < 3; k++) packed[last + k] *= gain;
+    }
+
+    private static List<RootGroup> groupPoles(double[] real, double[] imag) {
+        List<RootGroup> groups = new ArrayList<>();
+        List<Double> reals = new ArrayList<>();
+        int conjugates = 0;
+        for (int i = 0; i < real.length; i++) {
+            if (imag[i] > EPSILON) {
+                groups.add(new RootGroup(real[i], imag[i], real[i], -imag[i], 2));
+            } else if (imag[i] < -EPSILON) {
+                conjugates++;
+            } else {
+                reals.add(real[i]);
+            }
+        }
+        if (conjugates != groups.size()) {
+            throw new IllegalArgumentException("Complex poles must come in conjugate pairs");
+        }
+        // Neighbouring real poles (by distance from the origin) share a section
+        reals.sort(Comparator.comparingDouble(r -> -Math.abs(r)));
+        for (int i = 0; i + 1 < reals.size(); i += 2) {
+            groups.add(new RootGroup(reals.get(i), 0, reals.get(i + 1), 0, 2));
+        }
+        if (reals.size() % 2 == 1) {
+            double r = reals.get(reals.size() - 1);
+            groups.add(new RootGroup(r, 0, 0, 0, 1));
+        }
+        return groups;
+    }
+
+    // Complex zero pairs stay together; real zeros are offered one at a time
+    private static List<RootGroup> zeroCandidates(double[] real, double[] imag) {
+        List<RootGroup> candidates = new ArrayList<>();
+        int conjugates = 0, pairs = 0;
+        for (int i = 0; i < real.length; i++) {
+            if (imag[i] > EPSILON) {
+                candidates.add(new RootGroup(real[i], imag[i], real[i], -imag[i], 2));
+                pairs++;
+            } else if (imag[i] < -EPSILON) {
+                conjugates++;
+            } else {
+                candidates.add(new RootGroup(real[i], 0, 0, 0, 1));
+            }
+        }
+        if (conjugates != pairs) {
+            throw new IllegalArgumentException("Complex zeros must come in conjugate pairs");
+        }
+        return candidates;
+    }
+
+    private static int nearestZero(List<RootGroup> candidates, boolean[] used, RootGroup poles, boolean allowPairs, int exclude) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < candidates.size(); i++) {
+            RootGroup z = candidates.get(i);
+            if (used[i] || i == exclude || (z.size == 2 && !allowPairs)) continue;
+            double distance = Math.hypot(z.re1 - poles.re1, z.im1 - Math.abs(poles.im1));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static class RootGroup {
+        final double re1, im1, re2, im2;
+        final int size;
+
+        RootGroup(double re1, double im1, double re2, double im2, int size) {
+            this.re1 = re1;
+            this.im1 = im1;
+            this.re2 = re2;
+            this.im2 = im2;
+            this.size = size;
+        }
+
+        double radius() {
+            return Math.max(Math.hypot(re1, im1), size == 2 ? Math.hypot(re2, im2) : 0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package computation.software.codebase;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Computes the data behind a view on a background thread and hands it to the event dispatch thread
+ * as a snapshot that is never modified afterwards. Each submit supersedes the ones before it: a
+ * computation overtaken before it starts is skipped, and a result that arrives after a newer submit
+ * is dropped, so the view always ends up on its latest input. Views paint whatever {@link #get()}
+ * holds and never compute while painting.
+ */
+public final class SnapshotPublisher<T> {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), task -> {
+                Thread thread = new Thread(task, "snapshot-render");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Runnable onPublish;
+    private final AtomicLong generation = new AtomicLong();
+    private T snapshot; // Only touched on the EDT, like failure
+    private Throwable failure;
+
+    /**
+     * @param onPublish Run on the EDT whenever the snapshot changes, typically a repaint
+     */
+    public SnapshotPublisher(Runnable onPublish) {
+        if (onPublish == null) throw new IllegalArgumentException("Publish callback must not be null");
+        this.onPublish = onPublish;
+    }
+
+    /**
+     * Starts computing a new snapshot. A computation that throws publishes its failure with a null
+     * snapshot, so the view reports the error rather than showing data for an earlier input.
+     */
+    public void submit(Supplier<? extends T> computation) {
+        long id = generation.incrementAndGet();
+        EXECUTOR.execute(() -> {
+            if (generation.get() != id) return;
+            T result = null;
+            Throwable error = null;
+            try {
+                result = computation.get();
+            } catch (Throwable e) {
+                error = e;
+            }
+            T published = result;
+            Throwable failed = error;
+            SwingUtilities.invokeLater(() -> {
+                if (generation.get() != id) return;
+                snapshot = published;
+                failure = failed;
+                onPublish.run();
+            });
+        });
+    }
+
+    /**
+     * Publishes a snapshot that is already available, superseding any computation in flight. Must
+     * be called on the EDT.
+     */
+    public void set(T value) {
+        generation.incrementAndGet();
+        snapshot = value;
+        failure = null;
+        onPublish.run();
+    }
+
+    /**
+     * The latest snapshot, or null while the first one is being computed or when the latest
+     * computation failed. Must be called on the EDT.
+     */
+    public T get() {
+        return snapshot;
+    }
+
+    /**
+     * What the latest published computation threw, or null if it succeeded. Must be called on the EDT.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Text for a view to show while {@link #get()} is null. Must be called on the EDT.
+     */
+    public String statusText() {
+        if (failure == null) return "Computing...";
+        String message = failure.getMessage();
+        return "Computation failed: " + (message != null ? message : failure.getClass().getSimpleName());
+    }
+}
\ No newline at end of file
@@ -9,11 +9,26 @@ import javax.swing.border.TitledBorder;
 
 public class StabilityFeedbackWindow extends JFrame {
     private SymbolicTransferFunction tf;
+    private ComplexArray knownPoles, knownZeros; // Exact roots supplied with tf, or null to find them
+    private final SnapshotPublisher<Roots> roots = new SnapshotPublisher<>(this::repaint);
+    private final SnapshotPublisher<NyquistCurve> nyquist = new SnapshotPublisher<>(this::repaint);
     private final Font bahnschriftFont = new Font("Bahnschrift", Font.PLAIN, 12);
     private static final int NUM_POINTS = 512;
 
     public StabilityFeedbackWindow(SymbolicTransferFunction tf) {
+        this(tf, null, null);
+    }
+
+    /**
+     * Plots roots that are already known exactly, such as a design's ZPK, instead of re-rooting
+     * the expanded polynomial of tf, which puts the poles of high-order designs in the wrong place.
+     */
+    public StabilityFeedbackWindow(SymbolicTransferFunction tf, ComplexArray poles, ComplexArray zeros) {
+        if ((poles == null) != (zeros == null)) throw new IllegalArgumentException("Poles and zeros must be given together");
         this.tf = tf;
+        this.knownPoles = poles;
+        this.knownZeros = zeros;
+        recompute();
         setTitle("Stability Feedback");
         setSize(900, 450);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -30,27 +45,82 @@ public class StabilityFeedbackWindow extends JFrame {
     }
 
     public void setTransferFunction(SymbolicTransferFunction tf) {
+        if (tf == this.tf) return; // Same function, so the snapshots already match it
         this.tf = tf;
-        for (Component component : getContentPane().getComponents()) {
-            if (component instanceof PoleZeroPanel || component instanceof NyquistPanel) {
-                component.repaint();
+        knownPoles = null;
+        knownZeros = null;
+        recompute();
+    }
+
+    // Roots and the Nyquist curve are computed once per transfer function, off the EDT
+    private void recompute() {
+        SymbolicTransferFunction current = tf;
+        if (current == null) {
+            roots.set(null);
+            nyquist.set(null);
+            return;
+        }
+        if (knownPoles != null) {
+            roots.set(new Roots(knownPoles, knownZeros));
+        } else {
+            roots.submit(() -> new Roots(current));
+        }
+        nyquist.submit(() -> new NyquistCurve(current));
+    }
+
+    private static final class Roots {
+        final ComplexArray poles, zeros;
+        final double maxVal; // Half-width of the plotted square, at least the unit circle
+
+        Roots(SymbolicTransferFunction tf) {
+            this(new StabilityVerification(tf));
+        }
+
+        private Roots(StabilityVerification stability) {
+            this(stability.computePoles(), stability.computeZeros());
+        }
+
+        Roots(ComplexArray poles, ComplexArray zeros) {
+            this.poles = poles;
+            this.zeros = zeros;
+            maxVal = Math.max(1.2, Math.max(poles.maxAbs(), zeros.maxAbs())); // Leave the unit circle some room
+        }
+    }
+
+    private static final class NyquistCurve {
+        final double[] real = new double[NUM_POINTS];
+        final double[] imag = new double[NUM_POINTS];
+        final double maxVal;
+
+        NyquistCurve(SymbolicTransferFunction tf) {
+            new FrequencyResponseEvaluator(tf).evaluateComplexGrid(-Math.PI, 2 * Math.PI / (NUM_POINTS - 1), NUM_POINTS, real, imag);
+            double max = 0;
+            for (int i = 0; i < NUM_POINTS; i++) {
+                max = Math.max(max, Math.sqrt(real[i] * real[i] + imag[i] * imag[i]));
             }
+            maxVal = Math.max(max, 1.0);
         }
     }
 
     private class PoleZeroPanel extends JPanel {
-        private String tooltipText = null;
+        private final PlotLayerCache layer = new PlotLayerCache();
+        // Screen positions of the poles, then the zeros, for the roots and size they were built for
+        private PoleZeroHitIndex hitIndex;
+        private Roots indexedRoots;
+        private int indexedWidth, indexedHeight;
+        private int hoveredId = -1;
+        private static final int HIT_RADIUS = 10;
 
         public PoleZeroPanel() {
             setBackground(new Color(30, 30, 30));
+            setFont(bahnschriftFont);
             setPreferredSize(new Dimension(450, 450));
 
             addMouseMotionListener(new MouseMotionAdapter() {
                 @Override
                 public void mouseMoved(MouseEvent e) {
-                    tooltipText = getTooltipText(e.getX(), e.getY());
-                    setToolTipText(tooltipText);
-                    repaint(); // Ensure tooltip updates trigger repaint
+                    // The plot itself does not change on hover, so there is nothing to repaint
+                    updateTooltip(e.getX(), e.getY());
                 }
             });
         }
@@ -60,27 +130,24 @@ public class StabilityFeedbackWindow extends JFrame {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(bahnschriftFont);
 
-            if (tf == null) {
+            Roots snapshot = roots.get();
+            if (snapshot == null) {
                 g2.setColor(Color.WHITE);
-                g2.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
+                String text = tf == null ? "No data to display" : roots.statusText();
+                g2.drawString(text, (getWidth() - g2.getFontMetrics().stringWidth(text)) / 2, getHeight() / 2);
                 return;
             }
+            // The plot only changes with the roots, so mouse-driven repaints just copy the layer
+            layer.paint(g2, this, snapshot, (layerGraphics, width, height) -> paintPlot(layerGraphics, width, height, snapshot));
+        }
 
-            int width = getWidth();
-            int height = getHeight();
+        private void paintPlot(Graphics2D g2, int width, int height, Roots snapshot) {
             int margin = 50;
             int plotSize = Math.min(width, height) - 2 * margin;
-
-            // Compute scaling factor
-            StabilityVerification stability = new StabilityVerification(tf);
-            StabilityVerification.Complex[] poles = stability.computePoles();
-            StabilityVerification.Complex[] zeros = stability.computeZeros();
-            double maxVal = 1.0; // Unit circle
-            for (StabilityVerification.Complex p : poles) maxVal = Math.max(maxVal, p.magnitude());
-            for (StabilityVerification.Complex z : zeros) maxVal = Math.max(maxVal, z.magnitude());
-            maxVal = Math.max(maxVal, 1.2); // Ensure visibility
+            ComplexArray poles = snapshot.poles;
+            ComplexArray zeros = snapshot.zeros;
+            double maxVal = snapshot.maxVal;
 
             // Draw grid
             g2.setColor(new Color(50, 50, 50));
@@ -116,20 +183,20 @@ public class StabilityFeedbackWindow extends JFrame {
 
             // Plot poles and zeros
             g2.setColor(Color.RED);
-            for (StabilityVerification.Complex pole : poles) {
-                int x = centerX + (int) (pole.getReal() * plotSize / (2 * maxVal));
-                int y = centerY - (int) (pole.getImag() * plotSize / (2 * maxVal));
+            for (int i = 0; i < poles.length(); i++) {
+                int x = centerX + (int) (poles.getReal(i) * plotSize / (2 * maxVal));
+                int y = centerY - (int) (poles.getImag(i) * plotSize / (2 * maxVal));
                 g2.drawLine(x - 5, y - 5, x + 5, y + 5);
                 g2.drawLine(x - 5, y + 5, x + 5, y - 5);
-                g2.drawString(String.format("(%.2f, %.2f)", pole.getReal(), pole.getImag()), x + 5, y - 5);
+                g2.drawString(String.format("(%.2f, %.2f)", poles.getReal(i), poles.getImag(i)), x + 5, y - 5);
             }
 
             g2.setColor(Color.GREEN);
-            for (StabilityVerification.Complex zero : zeros) {
-                int x = centerX + (int) (zero.getReal() * plotSize / (2 * maxVal));
-                int y = centerY - (int) (zero.getImag() * plotSize / (2 * maxVal));
+            for (int i = 0; i < zeros.length(); i++) {
+                int x = centerX + (int) (zeros.getReal(i) * plotSize / (2 * maxVal));
+                int y = centerY - (int) (zeros.getImag(i) * plotSize / (2 * maxVal));
                 g2.drawOval(x - 5, y - 5, 10, 10);
-                g2.drawString(String.format("(%.2f, %.2f)", zero.getReal(), zero.getImag()), x + 5, y - 5);
+                g2.drawString(String.format("(%.2f, %.2f)", zeros.getReal(i), zeros.getImag(i)), x + 5, y - 5);
             }
 
             // Draw legend
@@ -144,39 +211,60 @@ public class StabilityFeedbackWindow extends JFrame {
             g2.drawOval(margin + 170, margin + plotSize + 15, 10, 10);
         }
 
-        private String getTooltipText(int mouseX, int mouseY) {
-            if (tf == null) return null;
+        private void updateTooltip(int mouseX, int mouseY) {
+            Roots snapshot = roots.get();
+            int id = -1;
+            boolean rebuilt = false;
+            if (snapshot != null) {
+                if (snapshot != indexedRoots || getWidth() != indexedWidth || getHeight() != indexedHeight) {
+                    buildHitIndex(snapshot);
+                    rebuilt = true;
+                }
+                id = hitIndex.find(mouseX, mouseY);
+            }
+            if (id == hoveredId && !rebuilt) return; // Same marker, or still none
+            hoveredId = id;
+            if (id < 0) {
+                setToolTipText(null);
+            } else if (id < snapshot.poles.length()) {
+                setToolTipText(String.format("Pole: (%.4f, %.4fi)", snapshot.poles.getReal(id), snapshot.poles.getImag(id)));
+            } else {
+                int i = id - snapshot.poles.length();
+                setToolTipText(String.format("Zero: (%.4f, %.4fi)", snapshot.zeros.getReal(i), snapshot.zeros.getImag(i)));
+            }
+        }
+
+        // Same mapping as paintPlot; poles come first so they win over a zero at the same spot
+        private void buildHitIndex(Roots snapshot) {
             int margin = 50;
             int plotSize = Math.min(getWidth(), getHeight()) - 2 * margin;
             int centerX = margin + plotSize / 2;
             int centerY = margin + plotSize / 2;
-            double maxVal = 1.2;
-            StabilityVerification stability = new StabilityVerification(tf);
-            StabilityVerification.Complex[] poles = stability.computePoles();
-            StabilityVerification.Complex[] zeros = stability.computeZeros();
-
-            for (StabilityVerification.Complex pole : poles) {
-                int x = centerX + (int) (pole.getReal() * plotSize / (2 * maxVal));
-                int y = centerY - (int) (pole.getImag() * plotSize / (2 * maxVal));
-                if (Math.abs(mouseX - x) < 10 && Math.abs(mouseY - y) < 10) {
-                    return String.format("Pole: (%.4f, %.4fi)", pole.getReal(), pole.getImag());
-                }
-            }
-
-            for (StabilityVerification.Complex zero : zeros) {
-                int x = centerX + (int) (zero.getReal() * plotSize / (2 * maxVal));
-                int y = centerY - (int) (zero.getImag() * plotSize / (2 * maxVal));
-                if (Math.abs(mouseX - x) < 10 && Math.abs(mouseY - y) < 10) {
-                    return String.format("Zero: (%.4f, %.4fi)", zero.getReal(), zero.getImag());
-                }
+            double maxVal = snapshot.maxVal;
+            ComplexArray poles = snapshot.poles;
+            ComplexArray zeros = snapshot.zeros;
+            int count = poles.length() + zeros.length();
+            int[] x = new int[count];
+            int[] y = new int[count];
+            for (int i = 0; i < count; i++) {
+                ComplexArray points = i < poles.length() ? poles : zeros;
+                int j = i < poles.length() ? i : i - poles.length();
+                x[i] = centerX + (int) (points.getReal(j) * plotSize / (2 * maxVal));
+                y[i] = centerY - (int) (points.getImag(j) * plotSize / (2 * maxVal));
             }
-            return null;
+            hitIndex = new PoleZeroHitIndex(x, y, getWidth(), getHeight(), HIT_RADIUS);
+            indexedRoots = snapshot;
+            indexedWidth = getWidth();
+            indexedHeight = getHeight();
         }
     }
 
     private class NyquistPanel extends JPanel {
+        private final PlotLayerCache layer = new PlotLayerCache();
+
         public NyquistPanel() {
             setBackground(new Color(30, 30, 30));
+            setFont(bahnschriftFont);
             setPreferredSize(new Dimension(450, 450));
         }
 
@@ -185,25 +273,23 @@ public class StabilityFeedbackWindow extends JFrame {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(bahnschriftFont);
 
-            int width = getWidth();
-            int height = getHeight();
+            NyquistCurve curve = nyquist.get();
+            if (curve == null) {
+                g2.setColor(Color.WHITE);
+                String text = tf == null ? "No data to display" : nyquist.statusText();
+                g2.drawString(text, (getWidth() - g2.getFontMetrics().stringWidth(text)) / 2, getHeight() / 2);
+                return;
+            }
+            layer.paint(g2, this, curve, (layerGraphics, width, height) -> paintPlot(layerGraphics, width, height, curve));
+        }
+
+        private void paintPlot(Graphics2D g2, int width, int height, NyquistCurve curve) {
             int margin = 50;
             int plotSize = Math.min(width, height) - 2 * margin;
-
-            // Compute Nyquist plot
-            double[] real = new double[NUM_POINTS];
-            double[] imag = new double[NUM_POINTS];
-            double maxVal = 0;
-            for (int i = 0; i < NUM_POINTS; i++) {
-                double omega = -Math.PI + 2 * Math.PI * i / (NUM_POINTS - 1);
-                double[] response = evaluateTransferFunction(omega);
-                real[i] = response[0];
-                imag[i] = response[1];
-                maxVal = Math.max(maxVal, Math.sqrt(real[i] * real[i] + imag[i] * imag[i]));
-            }
-            maxVal = Math.max(maxVal, 1.0);
+            double[] real = curve.real;
+            double[] imag = curve.imag;
+            double maxVal = curve.maxVal;
 
             // Draw grid
             g2.setColor(new Color(50, 50, 50));
@@ -261,32 +347,5 @@ public class StabilityFeedbackWindow extends JFrame {
             g2.setColor(Color.YELLOW);
             g2.fillOval(margin + 220, margin + plotSize + 10, 10, 10);
         }
-
-        private double[] evaluateTransferFunction(double omega) {
-            double[] num = tf.getNumerator();
-            double[] den = tf.getDenominator();
-            double realNum = 0, imagNum = 0, realDen = 0, imagDen = 0;
-
-            for (int i = 0; i < num.length; i++) {
-                double angle = -i * omega;
-                realNum += num[num.length - 1 - i] * Math.cos(angle);
-                imagNum += num[num.length - 1 - i] * Math.sin(angle);
-            }
-
-            for (int i = 0; i < den.length; i++) {
-                double angle = -i * omega;
-                realDen += den[den.length - 1 - i] * Math.cos(angle);
-                imagDen += den[den.length - 1 - i] * Math.sin(angle);
-            }
-
-            double denom = realDen * realDen + imagDen * imagDen;
-            if (Math.abs(denom) < 1e-10) return new double[]{0, 0};
-            return new double[]{
-                    (realNum * realDen + imagNum * imagDen) / denom,
-                    (imagNum * realDen - realNum * imagDen) / denom
-            };
-        }
     }
-
-    private static final double EPSILON = 1e-10;
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package computation.software.codebase;
+
+import java.util.Arrays;
+
+/**
+ * Stateful IIR filter for unbounded sample streams. The delay line of every biquad section is
+ * kept between calls, so a long signal can be pushed through block by block with the same
+ * output as filtering it in one piece. Processing allocates nothing.
+ */
+public class StreamingFilter {
+    private final double[] coefficients; // {b0, b1, b2, a1, a2} per section
+    private final double[] state; // Two transposed direct form II delays per section
+    private final int sectionCount;
+
+    public StreamingFilter(SymbolicTransferFunction tf) {
+        this(SecondOrderSections.fromTransferFunction(tf));
+    }
+
+    public StreamingFilter(SecondOrderSections sections) {
+        if (sections == null) throw new IllegalArgumentException("Sections must not be null");
+        this.coefficients = sections.getCoefficients();
+        this.sectionCount = sections.getSectionCount();
+        this.state = new double[2 * sectionCount];
+    }
+
+    /**
+     * Filters in[off..off+len) into out[off..off+len), continuing from the current state.
+     * in and out may be the same array.
+     */
+    public void process(double[] in, double[] out, int off, int len) {
+        if (off < 0 || len < 0 || off + len > in.length || off + len > out.length) {
+            throw new IllegalArgumentException("Block [" + off + ", " + (off + len) + ") is out of range");
+        }
+        double[] source = in;
+        for (int s = 0; s < sectionCount; s++) {
+            int o = s * SecondOrderSections.STRIDE;
+            double b0 = coefficients[o], b1 = coefficients[o + 1], b2 = coefficients[o + 2];
+            double a1 = coefficients[o + 3], a2 = coefficients[o + 4];
+            double s1 = state[2 * s], s2 = state[2 * s + 1];
+            for (int n = off, end = off + len; n < end; n++) {
+                double x = source[n];
+                double y = b0 * x + s1;
+                s1 = b1 * x - a1 * y + s2;
+                s2 = b2 * x - a2 * y;
+                out[n] = y;
+            }
+            state[2 * s] = s1;
+            state[2 * s + 1] = s2;
+            source = out; // Later sections work in place on the previous section's output
+        }
+    }
+
+    public double processSample(double x) {
+        for (int s = 0; s < sectionCount; s++) {
+            int o = s * SecondOrderSections.STRIDE;
+            double y = coefficients[o] * x + state[2 * s];
+            state[2 * s] = coefficients[o + 1] * x - coefficients[o + 3] * y + state[2 * s + 1];
+            state[2 * s + 1] = coefficients[o + 2] * x - coefficients[o + 4] * y;
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Clears the delay line, as if no samples had been processed.
+     */
+    public void reset() {
+        Arrays.fill(state, 0);
+    }
+}
\ No newline at end of file
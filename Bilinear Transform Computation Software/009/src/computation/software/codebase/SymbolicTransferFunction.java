@@ -25,6 +25,10 @@ public class SymbolicTransferFunction {
         return denominator.clone();
     }
 
+    public String getVariable() {
+        return variable;
+    }
+
     private double[] normalize(double[] coeffs) {
         // Remove leading zeros
         int start = 0;
@@ -0,0 +1,42 @@
+package computation.software.codebase;
+
+import java.util.Arrays;
+
+public class TimeDomainResponse {
+    private final SecondOrderSections sections;
+
+    public TimeDomainResponse(SymbolicTransferFunction tf) {
+        if (tf == null) throw new IllegalArgumentException("Transfer function must not be null");
+        if (tf.getNumerator().length > tf.getDenominator().length) {
+            throw new IllegalArgumentException("Numerator degree must not exceed denominator degree");
+        }
+        this.sections = SecondOrderSections.fromTransferFunction(tf);
+    }
+
+    public TimeDomainResponse(SecondOrderSections sections) {
+        if (sections == null) throw new IllegalArgumentException("Sections must not be null");
+        this.sections = sections;
+    }
+
+    public double[] impulseResponse(int numSamples) {
+        double[] x = new double[numSamples];
+        if (numSamples > 0) x[0] = 1.0;
+        return response(x);
+    }
+
+    public double[] stepResponse(int numSamples) {
+        double[] x = new double[numSamples];
+        Arrays.fill(x, 1.0);
+        return response(x);
+    }
+
+    /**
+     * Runs the input through the biquad cascade; unlike one high-order direct-form recursion,
+     * this stays well conditioned at high filter orders.
+     * @param x Input sequence
+     * @return Output sequence of the same length
+     */
+    public double[] response(double[] x) {
+        return sections.filter(x);
+    }
+}
\ No newline at end of file
@@ -2,12 +2,14 @@ package computation.software.codebase;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.util.Arrays;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class TimeDomainSimulation extends JFrame {
     private final SymbolicTransferFunction tf;
+    private final TimeDomainResponse timeResponse;
     private final int precision; // Added precision parameter
     private final Font bahnschriftFont = new Font("Arial", Font.PLAIN, 12);
     private static final int NUM_SAMPLES = 50;
@@ -15,7 +17,12 @@ public class TimeDomainSimulation extends JFrame {
     private static final int ANIMATION_DELAY = 100; // ms per sample
 
     public TimeDomainSimulation(SymbolicTransferFunction tf, int precision) {
+        this(tf, tf != null ? SecondOrderSections.fromTransferFunction(tf) : null, precision);
+    }
+
+    public TimeDomainSimulation(SymbolicTransferFunction tf, SecondOrderSections sections, int precision) {
         this.tf = tf;
+        this.timeResponse = sections != null ? new TimeDomainResponse(sections) : null;
         this.precision = precision;
         setTitle("Time Domain Simulation");
         setSize(900, 600);
@@ -39,13 +46,7 @@ public class TimeDomainSimulation extends JFrame {
         return new ResponsePanel("Impulse Response", "Sample Index", "Amplitude") {
             @Override
             protected double[] computeResponse() {
-                double[] response = new double[NUM_SAMPLES];
-                double[] num = tf.getNumerator();
-                double[] den = tf.getDenominator();
-                double[] x = new double[NUM_SAMPLES];
-                x[0] = 1.0; // Impulse input
-                computeDifferenceEquation(response, x, num, den);
-                return response;
+                return timeResponse.impulseResponse(NUM_SAMPLES);
             }
         };
     }
@@ -54,13 +55,7 @@ public class TimeDomainSimulation extends JFrame {
         return new ResponsePanel("Step Response", "Sample Index", "Amplitude") {
             @Override
             protected double[] computeResponse() {
-                double[] response = new double[NUM_SAMPLES];
-                double[] num = tf.getNumerator();
-                double[] den = tf.getDenominator();
-                double[] x = new double[NUM_SAMPLES];
-                Arrays.fill(x, 1.0); // Step input
-                computeDifferenceEquation(response, x, num, den);
-                return response;
+                return timeResponse.stepResponse(NUM_SAMPLES);
             }
         };
     }
@@ -77,22 +72,14 @@ public class TimeDomainSimulation extends JFrame {
         ResponsePanel responsePanel = new ResponsePanel("Input Response", "Sample Index", "Amplitude") {
             @Override
             protected double[] computeResponse() {
-                double[] response = new double[NUM_SAMPLES];
-                double[] num = tf.getNumerator();
-                double[] den = tf.getDenominator();
-                double[] x = new double[NUM_SAMPLES];
                 try {
-                    double[] input = Arrays.stream(inputField.getText().split(","))
-                            .map(String::trim).mapToDouble(Double::parseDouble).toArray();
-                    for (int i = 0; i < Math.min(input.length, NUM_SAMPLES); i++) {
-                        x[i] = input[i];
-                    }
+                    // Inputs longer than NUM_SAMPLES are simulated in full; the plot decimates them
+                    double[] input = CoefficientTextCodec.parseList(inputField.getText());
+                    return timeResponse.response(Arrays.copyOf(input, Math.max(input.length, NUM_SAMPLES)));
                 } catch (NumberFormatException e) {
                     JOptionPane.showMessageDialog(this, "Invalid input format!", "Error", JOptionPane.ERROR_MESSAGE);
-                    return response; // Return zeros
+                    return new double[NUM_SAMPLES]; // Return zeros
                 }
-                computeDifferenceEquation(response, x, num, den);
-                return response;
             }
         };
 
@@ -113,29 +100,21 @@ public class TimeDomainSimulation extends JFrame {
         return panel;
     }
 
-    private void computeDifferenceEquation(double[] response, double[] x, double[] num, double[] den) {
-        for (int n = 0; n < response.length; n++) {
-            double y = 0;
-            for (int k = 0; k < num.length && n - k >= 0; k++) {
-                y += num[num.length - 1 - k] * x[n - k];
-            }
-            for (int k = 1; k < den.length && n - k >= 0; k++) {
-                y -= den[den.length - 1 - k] * response[n - k];
-            }
-            if (Math.abs(den[den.length - 1]) > EPSILON) {
-                y /= den[den.length - 1];
-            }
-            response[n] = y;
-        }
-    }
-
     private abstract class ResponsePanel extends JPanel {
         private final String title;
         private final String xLabel;
         private final String yLabel;
         private double[] response;
+        private MinMaxDecimator decimator;
+        private double minVal, maxVal;
         private int currentSample;
-        private Timer timer;
+        // Visible sample range; the mouse wheel zooms it and dragging pans it
+        private double viewStart, viewEnd;
+        private int dragX;
+        private double dragViewStart;
+        private final PlotLayerCache layer = new PlotLayerCache();
+        private static final int MARGIN = 80; // Increased margin for labels
+        private static final double MIN_VIEW_SPAN = 8; // Samples across the plot at full zoom
         private JButton playPauseButton;
         private boolean isPlaying;
 
@@ -145,6 +124,7 @@ public class TimeDomainSimulation extends JFrame {
             this.yLabel = yLabel;
             setBackground(new Color(50, 50, 50));
             setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+            setFont(bahnschriftFont);
             setLayout(new BorderLayout());
 
             currentSample = 0;
@@ -169,54 +149,112 @@ public class TimeDomainSimulation extends JFrame {
             buttonPanel.add(resetButton);
             add(buttonPanel, BorderLayout.SOUTH);
 
+            // Wheel to zoom around the cursor, drag to pan, double-click to show everything
+            MouseAdapter viewHandler = new MouseAdapter() {
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (response == null || response.length < 2) return;
+                    double anchor = sampleAt(e.getX());
+                    double span = viewEnd - viewStart;
+                    double newSpan = Math.max(Math.min(MIN_VIEW_SPAN, response.length - 1),
+                            Math.min(response.length - 1, span * Math.pow(1.25, e.getPreciseWheelRotation())));
+                    setView(anchor - (anchor - viewStart) * newSpan / span, newSpan);
+                }
+
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragX = e.getX();
+                    dragViewStart = viewStart;
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (response == null || response.length < 2) return;
+                    double span = viewEnd - viewStart;
+                    setView(dragViewStart + (dragX - e.getX()) * span / plotWidth(), span);
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (e.getClickCount() == 2 && response != null) setView(0, Math.max(1, response.length - 1));
+                }
+            };
+            addMouseListener(viewHandler);
+            addMouseMotionListener(viewHandler);
+            addMouseWheelListener(viewHandler);
+
             resetAndCompute();
         }
 
         protected abstract double[] computeResponse();
 
         private void resetAndCompute() {
-            if (timer != null) {
-                timer.cancel();
-            }
             currentSample = 0;
             isPlaying = true;
             playPauseButton.setText("Pause");
             response = computeResponse();
+            if (response != null) {
+                decimator = new MinMaxDecimator(response);
+                maxVal = Double.isNaN(decimator.max()) ? 1.0 : decimator.max();
+                minVal = Double.isNaN(decimator.min()) ? -1.0 : decimator.min();
+                if (Math.abs(maxVal - minVal) < EPSILON) {
+                    maxVal += 1.0;
+                    minVal -= 1.0;
+                }
+                viewStart = 0;
+                viewEnd = Math.max(1, response.length - 1);
+            }
             startAnimation();
             repaint();
         }
 
+        private void setView(double start, double span) {
+            viewStart = Math.max(0, Math.min(start, Math.max(1, response.length - 1) - span));
+            viewEnd = viewStart + span;
+            repaint();
+        }
+
+        private int plotWidth() {
+            return getWidth() - 2 * MARGIN;
+        }
+
+        private double sampleAt(int x) {
+            return viewStart + (x - MARGIN) * (viewEnd - viewStart) / plotWidth();
+        }
+
+        private double sampleX(double i) {
+            return MARGIN + (i - viewStart) * plotWidth() / (viewEnd - viewStart);
+        }
+
+        // Continues from currentSample, so it also resumes after a pause. Long responses reveal
+        // several samples per step so every animation takes NUM_SAMPLES steps.
         private void startAnimation() {
-            timer = new Timer();
-            timer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    if (isPlaying && currentSample < NUM_SAMPLES) {
-                        currentSample++;
-                        repaint();
-                    }
-                    if (currentSample >= NUM_SAMPLES) {
-                        isPlaying = false;
-                        playPauseButton.setText("Play");
-                    }
-                }
-            }, 0, ANIMATION_DELAY);
+            int end = response != null ? response.length : NUM_SAMPLES;
+            int samplesPerStep = Math.max(1, (end + NUM_SAMPLES - 1) / NUM_SAMPLES);
+            AnimationScheduler.start(this, ANIMATION_DELAY, steps -> {
+                int from = currentSample;
+                currentSample = (int) Math.min(end, currentSample + (long) steps * samplesPerStep);
+                repaintSamples(from, currentSample);
+                if (currentSample < end) return true;
+                isPlaying = false;
+                playPauseButton.setText("Play");
+                return false;
+            });
         }
 
         private void togglePlayPause() {
             isPlaying = !isPlaying;
             playPauseButton.setText(isPlaying ? "Pause" : "Play");
-            if (isPlaying && currentSample >= NUM_SAMPLES) {
+            if (!isPlaying) {
+                AnimationScheduler.stop(this);
+            } else if (response == null || currentSample >= response.length) {
                 resetAnimation();
-                isPlaying = true;
-                playPauseButton.setText("Pause");
+            } else {
+                startAnimation();
             }
         }
 
         private void resetAnimation() {
-            if (timer != null) {
-                timer.cancel();
-            }
             currentSample = 0;
             isPlaying = true;
             playPauseButton.setText("Pause");
@@ -224,31 +262,51 @@ public class TimeDomainSimulation extends JFrame {
             repaint();
         }
 
+        // Repaints only the columns holding the segments that end at samples (from, to]
+        private void repaintSamples(int from, int to) {
+            if (response == null || response.length < 2) {
+                repaint();
+                return;
+            }
+            int x1 = Math.max(MARGIN, (int) Math.floor(sampleX(Math.max(0, from - 1)))) - 2;
+            int x2 = Math.min(getWidth() - MARGIN, (int) Math.ceil(sampleX(Math.min(to, response.length - 1)))) + 2;
+            if (x2 > x1) repaint(x1, 0, x2 - x1, getHeight() - 50);
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setFont(bahnschriftFont);
 
             if (tf == null || response == null) {
                 g2.setColor(Color.WHITE);
                 g2.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
                 return;
             }
+            layer.paint(g2, this, Arrays.asList(response, viewStart, viewEnd), this::paintAxes);
 
-            int width = getWidth();
             int height = getHeight() - 50; // Adjust for button panel
-            int margin = 80; // Increased margin for labels
-
-            double maxVal = Arrays.stream(response).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).max().orElse(1.0);
-            double minVal = Arrays.stream(response).filter(v -> !Double.isNaN(v) && !Double.isInfinite(v)).min().orElse(-1.0);
-            if (Math.abs(maxVal - minVal) < EPSILON) {
-                maxVal += 1.0;
-                minVal -= 1.0;
-            }
+            int margin = MARGIN;
+            if (plotWidth() <= 0) return;
+
+            // Plot response up to currentSample, only across the repainted columns
+            Rectangle clip = g2.getClipBounds();
+            int left = Math.max(margin, clip != null ? clip.x - 2 : margin);
+            int right = Math.min(getWidth() - margin, clip != null ? clip.x + clip.width + 2 : getWidth() - margin);
+            double from = sampleAt(left);
+            double to = Math.min(sampleAt(right), currentSample);
+            if (to <= from) return;
+            g2.clipRect(margin, 0, plotWidth(), getHeight());
+            g2.setColor(new Color(0, 120, 215));
+            g2.draw(decimator.path(from, to, left, (to - from) * plotWidth() / (viewEnd - viewStart),
+                    height - margin, margin, minVal, maxVal));
+        }
 
-            double xMax = NUM_SAMPLES - 1;
+        // Everything but the curve, cached by the layer per response, view and size
+        private void paintAxes(Graphics2D g2, int width, int fullHeight) {
+            int height = fullHeight - 50; // Adjust for button panel
+            int margin = MARGIN;
 
             // Determine label format based on amplitude range
             boolean useScientific = Math.abs(maxVal) > 1000 || Math.abs(minVal) > 1000 || Math.abs(maxVal - minVal) > 1000;
@@ -273,7 +331,7 @@ public class TimeDomainSimulation extends JFrame {
             g2.drawString(yLabel, margin - 70, margin - 20);
             // Reduce number of y-axis labels to 6
             for (int i = 0; i <= 5; i++) {
-                double x = i * xMax / 5;
+                double x = viewStart + i * (viewEnd - viewStart) / 5;
                 double y = minVal + i * (maxVal - minVal) / 5;
                 int xPos = margin + i * (width - 2 * margin) / 5;
                 int yPos = height - margin - i * (height - 2 * margin) / 5;
@@ -281,21 +339,6 @@ public class TimeDomainSimulation extends JFrame {
                 g2.drawString(String.format(labelFormat, y), margin - 60, yPos + 5); // Use precision
             }
 
-            // Plot response up to currentSample
-            g2.setColor(new Color(0, 120, 215));
-            for (int i = 1; i <= currentSample && i < response.length; i++) {
-                double x1 = (i - 1) * (width - 2 * margin) / (response.length - 1) + margin;
-                double x2 = i * (width - 2 * margin) / (response.length - 1) + margin;
-                double y1 = response[i - 1];
-                double y2 = response[i];
-                if (Double.isNaN(y1) || Double.isInfinite(y1) || Double.isNaN(y2) || Double.isInfinite(y2)) {
-                    continue;
-                }
-                int y1Pos = height - margin - (int) ((y1 - minVal) * (height - 2 * margin) / (maxVal - minVal));
-                int y2Pos = height - margin - (int) ((y2 - minVal) * (height - 2 * margin) / (maxVal - minVal));
-                g2.drawLine((int) x1, y1Pos, (int) x2, y2Pos);
-            }
-
             // Draw title
             g2.setColor(Color.WHITE);
             g2.drawString(title, width / 2 - 50, margin - 10);
@@ -0,0 +1,415 @@
+package computation.software.codebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Lossless binary format for transfer functions, zero-pole-gain sets and sampled frequency
+ * responses, for exchanging large numbers of filters with other tools. A stream is a sequence of
+ * self-delimiting records, each a 48-byte header followed by its payload, all little-endian and
+ * 8-byte aligned:
+ *
+ * <pre>
+ * header:   int magic, byte version, byte kind, byte variable ('s' or 'z'), byte filter type + 1 (0 = none),
+ *           int order, int payload length, double T, cutoff, ripple, stopband attenuation (NaN when unknown)
+ * TF:       int numerator length, int denominator length, numerator, denominator (descending powers)
+ * ZPK:      int zero count, int pole count, double gain, zeros re[], zeros im[], poles re[], poles im[]
+ * RESPONSE: int point count, int present arrays (bit 0 magnitude dB, 1 phase degrees, 2 group delay),
+ *           double first frequency, double frequency step, then each present array in that order
+ * </pre>
+ */
+public final class TransferFunctionCodec {
+    public static final int VERSION = 1;
+    public static final byte TRANSFER_FUNCTION = 1;
+    public static final byte ZERO_POLE_GAIN = 2;
+    public static final byte RESPONSE = 3;
+
+    private static final int MAGIC = 0x46545442; // "BTTF"
+    private static final int HEADER_SIZE = 48;
+    private static final int MAGNITUDE = 1, PHASE = 2, GROUP_DELAY = 4;
+
+    private TransferFunctionCodec() {
+    }
+
+    /**
+     * What a record was computed from. Everything except the variable is optional: T and the design
+     * parameters are NaN and the filter type null when they do not apply (e.g. manual input).
+     */
+    public static final class Header {
+        private final String variable;
+        private final double samplingPeriod;
+        private final ADFilterMapping.FilterType type;
+        private final int order;
+        private final double cutoffFreq, ripple, stopbandAtten;
+
+        public Header(String variable, double samplingPeriod) {
+            this(variable, samplingPeriod, null, 0, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        public Header(String variable, double samplingPeriod, ADFilterMapping.FilterType type, int order,
+                      double cutoffFreq, double ripple, double stopbandAtten) {
+            if (!"s".equals(variable) && !"z".equals(variable)) {
+                throw new IllegalArgumentException("Variable must be 's' or 'z'");
+            }
+            this.variable = variable;
+            this.samplingPeriod = samplingPeriod;
+            this.type = type;
+            this.order = order;
+            this.cutoffFreq = cutoffFreq;
+            this.ripple = ripple;
+            this.stopbandAtten = stopbandAtten;
+        }
+
+        public String getVariable() {
+            return variable;
+        }
+
+        public double getSamplingPeriod() {
+            return samplingPeriod;
+        }
+
+        public ADFilterMapping.FilterType getType() {
+            return type;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public double getCutoffFreq() {
+            return cutoffFreq;
+        }
+
+        public double getRipple() {
+            return ripple;
+        }
+
+        public double getStopbandAtten() {
+            return stopbandAtten;
+        }
+    }
+
+    public static int encodedSize(SymbolicTransferFunction tf) {
+        return HEADER_SIZE + 8 + 8 * (tf.getNumerator().length + tf.getDenominator().length);
+    }
+
+    public static int encodedSize(ZeroPoleGain zpk) {
+        return HEADER_SIZE + 16 + 16 * (zpk.getZeroCount() + zpk.getPoleCount());
+    }
+
+    public static int encodedSize(int points, double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        int arrays = (magnitudeDb != null ? 1 : 0) + (phaseDegrees != null ? 1 : 0) + (groupDelay != null ? 1 : 0);
+        return HEADER_SIZE + 24 + 8 * points * arrays;
+    }
+
+    /**
+     * Appends a transfer function record at the buffer's position. The header's variable is
+     * ignored in favour of the transfer function's own.
+     */
+    public static void encode(ByteBuffer out, Header header, SymbolicTransferFunction tf) {
+        double[] num = tf.getNumerator(), den = tf.getDenominator();
+        ByteBuffer buffer = begin(out, header, TRANSFER_FUNCTION, tf.getVariable(), 8 + 8 * (num.length + den.length));
+        buffer.putInt(num.length).putInt(den.length);
+        putAll(buffer, num);
+        putAll(buffer, den);
+    }
+
+    public static void encode(ByteBuffer out, Header header, ZeroPoleGain zpk) {
+        int zeros = zpk.getZeroCount(), poles = zpk.getPoleCount();
+        ByteBuffer buffer = begin(out, header, ZERO_POLE_GAIN, zpk.getVariable(), 16 + 16 * (zeros + poles));
+        buffer.putInt(zeros).putInt(poles).putDouble(zpk.getGain());
+        putAll(buffer, zpk.getZerosReal());
+        putAll(buffer, zpk.getZerosImag());
+        putAll(buffer, zpk.getPolesReal());
+        putAll(buffer, zpk.getPolesImag());
+    }
+
+    /**
+     * Appends a response sampled at frequencies first, first + step, ...; any of the arrays may be
+     * null, and the others must hold at least points values.
+     */
+    public static void encode(ByteBuffer out, Header header, double first, double step, int points,
+                              double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) {
+        if (points < 0) throw new IllegalArgumentException("Point count must not be negative");
+        for (double[] values : new double[][]{magnitudeDb, phaseDegrees, groupDelay}) {
+            if (values != null && values.length < points) throw new IllegalArgumentException("Response array is shorter than the point count");
+        }
+        int present = (magnitudeDb != null ? MAGNITUDE : 0) | (phaseDegrees != null ? PHASE : 0) | (groupDelay != null ? GROUP_DELAY : 0);
+        ByteBuffer buffer = begin(out, header, RESPONSE, header.getVariable(),
+                encodedSize(points, magnitudeDb, phaseDegrees, groupDelay) - HEADER_SIZE);
+        buffer.putInt(points).putInt(present).putDouble(first).putDouble(step);
+        if (magnitudeDb != null) buffer.asDoubleBuffer().put(magnitudeDb, 0, points);
+        skipDoubles(buffer, magnitudeDb != null ? points : 0);
+        if (phaseDegrees != null) buffer.asDoubleBuffer().put(phaseDegrees, 0, points);
+        skipDoubles(buffer, phaseDegrees != null ? points : 0);
+        if (groupDelay != null) buffer.asDoubleBuffer().put(groupDelay, 0, points);
+        skipDoubles(buffer, groupDelay != null ? points : 0);
+    }
+
+    // Writes the header and returns a little-endian view positioned at the payload; out advances past the record
+    private static ByteBuffer begin(ByteBuffer out, Header header, byte kind, String variable, int payload) {
+        if (out.remaining() < HEADER_SIZE + payload) throw new IllegalArgumentException("Buffer too small for record");
+        ByteBuffer buffer = out.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).put((byte) VERSION).put(kind).put((byte) variable.charAt(0))
+                .put((byte) (header.getType() != null ? header.getType().ordinal() + 1 : 0))
+                .putInt(header.getOrder()).putInt(payload).putDouble(header.getSamplingPeriod())
+                .putDouble(header.getCutoffFreq()).putDouble(header.getRipple()).putDouble(header.getStopbandAtten());
+        out.position(out.position() + HEADER_SIZE + payload);
+        return buffer;
+    }
+
+    private static void putAll(ByteBuffer buffer, double[] values) {
+        buffer.asDoubleBuffer().put(values);
+        skipDoubles(buffer, values.length);
+    }
+
+    private static void skipDoubles(ByteBuffer buffer, int count) {
+        buffer.position(buffer.position() + 8 * count);
+    }
+
+    /**
+     * Streams records to a channel through one reusable direct buffer. Records are written whole
+     * once the buffer fills and on {@link #flush()}; closing the writer does not close the channel.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private ByteBuffer buffer;
+
+        public Writer(WritableByteChannel channel) {
+            this(channel, 1 << 16);
+        }
+
+        public Writer(WritableByteChannel channel, int bufferSize) {
+            if (channel == null) throw new IllegalArgumentException("Channel must not be null");
+            if (bufferSize < HEADER_SIZE) throw new IllegalArgumentException("Buffer size is too small");
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public void write(Header header, SymbolicTransferFunction tf) throws IOException {
+            reserve(encodedSize(tf));
+            encode(buffer, header, tf);
+        }
+
+        public void write(Header header, ZeroPoleGain zpk) throws IOException {
+            reserve(encodedSize(zpk));
+            encode(buffer, header, zpk);
+        }
+
+        public void write(Header header, double first, double step, int points,
+                          double[] magnitudeDb, double[] phaseDegrees, double[] groupDelay) throws IOException {
+            reserve(encodedSize(Math.max(points, 0), magnitudeDb, phaseDegrees, groupDelay));
+            encode(buffer, header, first, step, points, magnitudeDb, phaseDegrees, groupDelay);
+        }
+
+        private void reserve(int size) throws IOException {
+            if (buffer.remaining() >= size) return;
+            flush();
+            if (buffer.capacity() < size) buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Iterates over the records in a buffer, such as a file mapped with FileChannel.map. Arrays are
+     * returned as views of the buffer, not copies.
+     */
+    public static final class Reader {
+        private final ByteBuffer in;
+
+        public Reader(ByteBuffer in) {
+            this.in = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public boolean hasNext() {
+            return in.hasRemaining();
+        }
+
+        /**
+         * @throws IllegalArgumentException If the next record is truncated, of an unknown version or kind, or inconsistent
+         */
+        public Record next() {
+            if (in.remaining() < HEADER_SIZE) throw new IllegalArgumentException("Truncated record header");
+            int start = in.position();
+            if (in.getInt(start) != MAGIC) throw new IllegalArgumentException("Not a transfer function record");
+            if (in.get(start + 4) != VERSION) throw new IllegalArgumentException("Unsupported record version " + in.get(start + 4));
+            int payload = in.getInt(start + 12);
+            if (payload < 0 || payload > in.remaining() - HEADER_SIZE) throw new IllegalArgumentException("Truncated record payload");
+            Record record = new Record(in, start, payload);
+            in.position(start + HEADER_SIZE + payload);
+            return record;
+        }
+    }
+
+    /**
+     * One decoded record. The getters for arrays a record does not hold return null.
+     */
+    public static final class Record {
+        private final byte kind;
+        private final Header header;
+        private final DoubleBuffer[] arrays;
+        private final double gain, first, step;
+
+        private Record(ByteBuffer in, int start, int payload) {
+            kind = in.get(start + 5);
+            char variable = (char) in.get(start + 6);
+            int type = in.get(start + 7);
+            ADFilterMapping.FilterType[] types = ADFilterMapping.FilterType.values();
+            if (type < 0 || type > types.length) throw new IllegalArgumentException("Unknown filter type " + type);
+            header = new Header(String.valueOf(variable), in.getDouble(start + 16), type == 0 ? null : types[type - 1],
+                    in.getInt(start + 8), in.getDouble(start + 24), in.getDouble(start + 32), in.getDouble(start + 40));
+
+            int p = start + HEADER_SIZE;
+            int end = p + payload;
+            switch (kind) {
+                case TRANSFER_FUNCTION: {
+                    int num = count(in, p, 8, payload), den = count(in, p + 4, 8, payload);
+                    check(8 + 8L * (num + den) == payload);
+                    arrays = new DoubleBuffer[]{view(in, p + 8, num), view(in, p + 8 + 8 * num, den)};
+                    gain = first = step = Double.NaN;
+                    break;
+                }
+                case ZERO_POLE_GAIN: {
+                    int zeros = count(in, p, 16, payload), poles = count(in, p + 4, 16, payload);
+                    check(16 + 16L * (zeros + poles) == payload);
+                    gain = in.getDouble(p + 8);
+                    p += 16;
+                    arrays = new DoubleBuffer[]{view(in, p, zeros), view(in, p + 8 * zeros, zeros),
+                            view(in, p + 16 * zeros, poles), view(in, p + 16 * zeros + 8 * poles, poles)};
+                    first = step = Double.NaN;
+                    break;
+                }
+                case RESPONSE: {
+                    int points = count(in, p, 8, payload), present = in.getInt(p + 4);
+                    check((present & ~(MAGNITUDE | PHASE | GROUP_DELAY)) == 0
+                            && 24 + 8L * points * Integer.bitCount(present) == payload);
+                    first = in.getDouble(p + 8);
+                    step = in.getDouble(p + 16);
+                    p += 24;
+                    arrays = new DoubleBuffer[3];
+                    for (int bit = 0; bit < 3; bit++) {
+                        if ((present & (1 << bit)) == 0) continue;
+                        arrays[bit] = view(in, p, points);
+                        p += 8 * points;
+                    }
+                    gain = Double.NaN;
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown record kind " + kind);
+            }
+            check(p <= end);
+        }
+
+        private static int count(ByteBuffer in, int p, int elementSize, int payload) {
+            int n = in.getInt(p);
+            check(n >= 0 && n <= payload / elementSize);
+            return n;
+        }
+
+        private static void check(boolean consistent) {
+            if (!consistent) throw new IllegalArgumentException("Inconsistent record payload");
+        }
+
+        private static DoubleBuffer view(ByteBuffer in, int position, int length) {
+            ByteBuffer bytes = in.duplicate();
+            bytes.position(position).limit(position + 8 * length);
+            return bytes.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+        }
+
+        private DoubleBuffer array(byte expectedKind, int index) {
+            return kind == expectedKind && arrays[index] != null ? arrays[index].duplicate() : null;
+        }
+
+        public byte getKind() {
+            return kind;
+        }
+
+        public Header getHeader() {
+            return header;
+        }
+
+        public DoubleBuffer getNumerator() {
+            return array(TRANSFER_FUNCTION, 0);
+        }
+
+        public DoubleBuffer getDenominator() {
+            return array(TRANSFER_FUNCTION, 1);
+        }
+
+        public DoubleBuffer getZerosReal() {
+            return array(ZERO_POLE_GAIN, 0);
+        }
+
+        public DoubleBuffer getZerosImag() {
+            return array(ZERO_POLE_GAIN, 1);
+        }
+
+        public DoubleBuffer getPolesReal() {
+            return array(ZERO_POLE_GAIN, 2);
+        }
+
+        public DoubleBuffer getPolesImag() {
+            return array(ZERO_POLE_GAIN, 3);
+        }
+
+        /**
+         * Gain of a zero-pole-gain record; NaN for other kinds.
+         */
+        public double getGain() {
+            return gain;
+        }
+
+        public DoubleBuffer getMagnitudeDb() {
+            return array(RESPONSE, 0);
+        }
+
+        public DoubleBuffer getPhaseDegrees() {
+            return array(RESPONSE, 1);
+        }
+
+        public DoubleBuffer getGroupDelay() {
+            return array(RESPONSE, 2);
+        }
+
+        /**
+         * Frequency of the first response point (rad/sample for discrete responses); NaN for other kinds.
+         */
+        public double getFirstFrequency() {
+            return first;
+        }
+
+        public double getFrequencyStep() {
+            return step;
+        }
+
+        public SymbolicTransferFunction toTransferFunction() {
+            if (kind != TRANSFER_FUNCTION) throw new IllegalArgumentException("Record does not hold a transfer function");
+            return new SymbolicTransferFunction(copy(arrays[0]), copy(arrays[1]), header.getVariable());
+        }
+
+        public ZeroPoleGain toZpk() {
+            if (kind != ZERO_POLE_GAIN) throw new IllegalArgumentException("Record does not hold zeros and poles");
+            return new ZeroPoleGain(copy(arrays[0]), copy(arrays[1]), copy(arrays[2]), copy(arrays[3]), gain, header.getVariable());
+        }
+
+        private static double[] copy(DoubleBuffer view) {
+            double[] values = new double[view.capacity()];
+            view.duplicate().get(values);
+            return values;
+        }
+    }
+}
\ No newline at end of file
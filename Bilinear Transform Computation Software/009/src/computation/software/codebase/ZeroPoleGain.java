@@ -0,0 +1,150 @@
+package computation.software.codebase;
+
+import java.util.Arrays;
+
+/**
+ * Transfer function in factored form H(x) = k * Π(x - z_i) / Π(x - p_j).
+ * Roots are kept as parallel real/imaginary arrays; complex roots appear in conjugate pairs.
+ */
+public class ZeroPoleGain {
+    private final double[] zerosReal;
+    private final double[] zerosImag;
+    private final double[] polesReal;
+    private final double[] polesImag;
+    private final double gain;
+    private final String variable; // "s" for analog, "z" for discrete
+    private static final double EPSILON = 1e-10;
+
+    public ZeroPoleGain(double[] zerosReal, double[] zerosImag, double[] polesReal, double[] polesImag, double gain, String variable) {
+        if (zerosReal == null || zerosImag == null || polesReal == null || polesImag == null) {
+            throw new IllegalArgumentException("Zero and pole arrays must not be null");
+        }
+        if (zerosReal.length != zerosImag.length || polesReal.length != polesImag.length) {
+            throw new IllegalArgumentException("Real and imaginary parts must have the same length");
+        }
+        if (!variable.equals("s") && !variable.equals("z")) {
+            throw new IllegalArgumentException("Variable must be 's' or 'z'");
+        }
+        this.zerosReal = zerosReal.clone();
+        this.zerosImag = zerosImag.clone();
+        this.polesReal = polesReal.clone();
+        this.polesImag = polesImag.clone();
+        this.gain = gain;
+        this.variable = variable;
+    }
+
+    /**
+     * Factors a polynomial transfer function by finding the roots of its numerator and denominator.
+     */
+    public static ZeroPoleGain fromTransferFunction(SymbolicTransferFunction tf) {
+        double[] num = trimLeadingZeros(tf.getNumerator());
+        double[] den = tf.getDenominator();
+        if (Math.abs(den[0]) < EPSILON) {
+            throw new IllegalArgumentException("Leading denominator coefficient cannot be zero");
+        }
+        double[][] zeros = roots(num);
+        double[][] poles = roots(den);
+        double gain = num.length == 0 ? 0 : num[0] / den[0];
+        return new ZeroPoleGain(zeros[0], zeros[1], poles[0], poles[1], gain, tf.getVariable());
+    }
+
+    // A vanishing leading numerator coefficient only lowers the degree
+    private static double[] trimLeadingZeros(double[] coeffs) {
+        int first = 0;
+        while (first < coeffs.length && Math.abs(coeffs[first]) < EPSILON) first++;
+        return Arrays.copyOfRange(coeffs, first, coeffs.length);
+    }
+
+    private static double[][] roots(double[] coeffs) {
+        if (coeffs.length < 2) return new double[][]{new double[0], new double[0]};
+        ComplexArray found = PolynomialRootFinder.findRoots(coeffs);
+        return new double[][]{found.copyReal(), found.copyImag()};
+    }
+
+    /**
+     * Expands the factors into numerator and denominator polynomials (descending powers).
+     */
+    public SymbolicTransferFunction toTransferFunction() {
+        double[] num = expand(zerosReal, zerosImag);
+        double[] den = expand(polesReal, polesImag);
+        for (int i = 0; i < num.length; i++) num[i] *= gain;
+        return new SymbolicTransferFunction(num, den, variable);
+    }
+
+    // Π(x - r_i) with complex accumulation; conjugate pairs leave a real polynomial
+    private static double[] expand(double[] rootsReal, double[] rootsImag) {
+        int n = rootsReal.length;
+        double[] real = new double[n + 1];
+        double[] imag = new double[n + 1];
+        real[0] = 1;
+        for (int k = 0; k < n; k++) {
+            double rr = rootsReal[k], ri = rootsImag[k];
+            for (int j = k + 1; j >= 1; j--) {
+                real[j] -= rr * real[j - 1] - ri * imag[j - 1];
+                imag[j] -= rr * imag[j - 1] + ri * real[j - 1];
+            }
+        }
+        return real;
+    }
+
+    public double[] getZerosReal() {
+        return zerosReal.clone();
+    }
+
+    public double[] getZerosImag() {
+        return zerosImag.clone();
+    }
+
+    public double[] getPolesReal() {
+        return polesReal.clone();
+    }
+
+    public double[] getPolesImag() {
+        return polesImag.clone();
+    }
+
+    /**
+     * 1 minus the largest pole radius, so positive exactly when a discrete system is stable. Taken
+     * from the factored poles, it stays exact at orders where the expanded denominator no longer
+     * locates them. A system without poles has margin 1.
+     */
+    public double stabilityMargin() {
+        double max = 0;
+        for (int i = 0; i < polesReal.length; i++) max = Math.max(max, Math.hypot(polesReal[i], polesImag[i]));
+        return 1 - max;
+    }
+
+    /**
+     * |H(x)| = |k| Π|x - z_i| / Π|x - p_i|, evaluated from the factors without allocating.
+     * @return The magnitude, or 0 where it is not finite (x on a pole)
+     */
+    public double magnitude(double xr, double xi) {
+        double num = gain * gain, den = 1;
+        for (int i = 0; i < zerosReal.length; i++) {
+            double dr = xr - zerosReal[i], di = xi - zerosImag[i];
+            num *= dr * dr + di * di;
+        }
+        for (int i = 0; i < polesReal.length; i++) {
+            double dr = xr - polesReal[i], di = xi - polesImag[i];
+            den *= dr * dr + di * di;
+        }
+        double magnitude = Math.sqrt(num / den);
+        return Double.isNaN(magnitude) || Double.isInfinite(magnitude) ? 0 : magnitude;
+    }
+
+    public int getZeroCount() {
+        return zerosReal.length;
+    }
+
+    public int getPoleCount() {
+        return polesReal.length;
+    }
+
+    public double getGain() {
+        return gain;
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+}
\ No newline at end of file